@@ -49,6 +49,7 @@ import org.sonar.ce.CeQueueModule;
 import org.sonar.ce.CeTaskCommonsModule;
 import org.sonar.ce.StandaloneCeDistributedInformation;
 import org.sonar.ce.async.SynchronousAsyncExecution;
+import org.sonar.ce.async.SynchronousWebhookExecution;
 import org.sonar.ce.cleaning.CeCleaningModule;
 import org.sonar.ce.db.ReadOnlyPropertiesDao;
 import org.sonar.ce.log.CeProcessLogging;
@@ -336,6 +337,7 @@ public class ComputeEngineContainerImpl implements ComputeEngineContainer {
       ServerImpl.class,
       DefaultOrganizationProviderImpl.class,
       SynchronousAsyncExecution.class,
+      SynchronousWebhookExecution.class,
       OrganizationFlagsImpl.class);
   }
 
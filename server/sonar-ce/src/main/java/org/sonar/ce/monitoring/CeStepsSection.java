@@ -0,0 +1,51 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2018 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.ce.monitoring;
+
+import org.sonar.process.systeminfo.SystemInfoSection;
+import org.sonar.process.systeminfo.protobuf.ProtobufSystemInfo;
+import org.sonar.server.computation.task.step.ComputationStepStatistics;
+
+import static java.lang.String.format;
+import static org.apache.commons.io.FileUtils.byteCountToDisplaySize;
+import static org.sonar.process.systeminfo.SystemInfoUtils.setAttribute;
+
+/**
+ * Cumulative duration and heap allocation of each step of the analysis reports processed since startup.
+ */
+public class CeStepsSection implements SystemInfoSection {
+  private final ComputationStepStatistics statistics;
+
+  public CeStepsSection(ComputationStepStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  @Override
+  public ProtobufSystemInfo.Section toProtobuf() {
+    ProtobufSystemInfo.Section.Builder protobuf = ProtobufSystemInfo.Section.newBuilder();
+    protobuf.setName("Compute Engine Steps");
+    statistics.getAll().forEach((step, stepStatistics) -> setAttribute(protobuf, step,
+      format("executions=%d | time=%dms | allocatedHeap=%s",
+        stepStatistics.getExecutionCount(),
+        stepStatistics.getDurationInMs(),
+        byteCountToDisplaySize(stepStatistics.getAllocatedBytes()))));
+    return protobuf.build();
+  }
+}
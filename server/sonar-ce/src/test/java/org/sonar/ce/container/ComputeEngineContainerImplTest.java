@@ -97,10 +97,10 @@ public class ComputeEngineContainerImplTest {
             + 85 // level 4
             + 21 // content of QualityGateModule
             + 6 // content of CeConfigurationModule
-            + 4 // content of CeQueueModule
+            + 5 // content of CeQueueModule
             + 4 // content of CeHttpModule
             + 3 // content of CeTaskCommonsModule
-            + 4 // content of ProjectAnalysisTaskModule
+            + 5 // content of ProjectAnalysisTaskModule
             + 7 // content of CeTaskProcessorModule
             + 4 // content of ReportAnalysisFailureNotificationModule
             + 3 // CeCleaningModule + its content
@@ -109,7 +109,7 @@ public class ComputeEngineContainerImplTest {
       );
       assertThat(picoContainer.getParent().getComponentAdapters()).hasSize(
         CONTAINER_ITSELF
-          + 7 // level 3
+          + 8 // level 3
       );
       assertThat(picoContainer.getParent().getParent().getComponentAdapters()).hasSize(
         CONTAINER_ITSELF
@@ -0,0 +1,55 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2018 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.ce.monitoring;
+
+import org.junit.Test;
+import org.sonar.process.systeminfo.protobuf.ProtobufSystemInfo;
+import org.sonar.server.computation.task.step.ComputationStepStatistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CeStepsSectionTest {
+
+  private ComputationStepStatistics statistics = new ComputationStepStatistics();
+  private CeStepsSection underTest = new CeStepsSection(statistics);
+
+  @Test
+  public void export_no_attributes_if_no_steps_were_executed() {
+    ProtobufSystemInfo.Section section = underTest.toProtobuf();
+
+    assertThat(section.getName()).isEqualTo("Compute Engine Steps");
+    assertThat(section.getAttributesCount()).isZero();
+  }
+
+  @Test
+  public void export_cumulative_statistics_of_each_step_sorted_by_description() {
+    statistics.add("Persist sources", 100L, 2L * 1024 * 1024);
+    statistics.add("Extract report", 20L, 0L);
+    statistics.add("Persist sources", 50L, 1024L * 1024);
+
+    ProtobufSystemInfo.Section section = underTest.toProtobuf();
+
+    assertThat(section.getAttributesCount()).isEqualTo(2);
+    assertThat(section.getAttributes(0).getKey()).isEqualTo("Extract report");
+    assertThat(section.getAttributes(0).getStringValue()).isEqualTo("executions=1 | time=20ms | allocatedHeap=0 bytes");
+    assertThat(section.getAttributes(1).getKey()).isEqualTo("Persist sources");
+    assertThat(section.getAttributes(1).getStringValue()).isEqualTo("executions=2 | time=150ms | allocatedHeap=3 MB");
+  }
+}
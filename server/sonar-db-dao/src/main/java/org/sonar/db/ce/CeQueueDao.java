@@ -20,6 +20,7 @@
 package org.sonar.db.ce;
 
 import com.google.common.collect.ImmutableMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -130,6 +131,18 @@ public class CeQueueDao implements Dao {
     return mapper(dbSession).countByStatusAndComponentUuid(status, componentUuid);
   }
 
+  /**
+   * Counts entries in the queue of the specified component uuid (or of all components if {@code null}) for each
+   * status, with a single query.
+   *
+   * The returned map doesn't contain any entry for a status with no entry in the queue.
+   */
+  public Map<CeQueueDto.Status, Integer> countByComponentUuidGroupByStatus(DbSession dbSession, @Nullable String componentUuid) {
+    Map<CeQueueDto.Status, Integer> res = new EnumMap<>(CeQueueDto.Status.class);
+    mapper(dbSession).countByComponentUuidGroupByStatus(componentUuid).forEach(o -> res.put(o.getStatus(), o.getTotal()));
+    return res;
+  }
+
   /**
    * Counts entries in the queue with the specified status for each specified component uuid.
    *
@@ -59,6 +59,8 @@ public interface CeQueueMapper {
 
   int countByStatusAndComponentUuid(@Param("status") CeQueueDto.Status status, @Nullable @Param("componentUuid") String componentUuid);
 
+  List<QueueStatusCount> countByComponentUuidGroupByStatus(@Nullable @Param("componentUuid") String componentUuid);
+
   List<QueueCount> countByStatusAndComponentUuids(@Param("status") CeQueueDto.Status status, @Param("componentUuids") Set<String> componentUuids);
 
   void insert(CeQueueDto dto);
@@ -36,6 +36,7 @@ import org.sonar.db.component.KeyType;
 import static java.util.Collections.singletonList;
 import static org.sonar.api.measures.CoreMetrics.NCLOC_KEY;
 import static org.sonar.db.DatabaseUtils.executeLargeInputs;
+import static org.sonar.db.DatabaseUtils.executeLargeUpdates;
 
 public class LiveMeasureDao implements Dao {
 
@@ -108,6 +109,16 @@ public class LiveMeasureDao implements Dao {
     }
   }
 
+  /**
+   * Set the marker of the measures of a component without changing their values
+   */
+  public void updateMarker(DbSession dbSession, String componentUuid, Collection<Integer> metricIds, String marker) {
+    if (metricIds.isEmpty()) {
+      return;
+    }
+    executeLargeUpdates(metricIds, partition -> mapper(dbSession).updateMarker(componentUuid, partition, marker));
+  }
+
   /**
    * Delete the rows that do NOT have the specified marker
    */
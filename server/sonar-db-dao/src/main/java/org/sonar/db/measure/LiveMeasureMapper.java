@@ -60,6 +60,11 @@ public interface LiveMeasureMapper {
     @Nullable @Param("marker") String marker,
     @Param("now") long now);
 
+  void updateMarker(
+    @Param("componentUuid") String componentUuid,
+    @Param("metricIds") Collection<Integer> metricIds,
+    @Param("marker") String marker);
+
   void deleteByProjectUuidExcludingMarker(
     @Param("projectUuid") String projectUuid,
     @Param("marker") String marker);
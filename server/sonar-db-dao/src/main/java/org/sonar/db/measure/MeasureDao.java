@@ -74,13 +74,19 @@ public class MeasureDao implements Dao {
     return mapper(dbSession).selectByQueryOnSingleComponent(query);
   }
 
-  public List<PastMeasureDto> selectPastMeasures(DbSession dbSession, String componentUuid, String analysisUuid, Collection<Integer> metricIds) {
-    if (metricIds.isEmpty()) {
+  /**
+   * Select measures of an analysis on several components, for a list of metrics.
+   * Both components and metrics are partitioned.
+   */
+  public List<PastMeasureDto> selectPastMeasures(DbSession dbSession, Collection<String> componentUuids, String analysisUuid, Collection<Integer> metricIds) {
+    if (componentUuids.isEmpty() || metricIds.isEmpty()) {
       return emptyList();
     }
     return executeLargeInputs(
       metricIds,
-      ids -> mapper(dbSession).selectPastMeasuresOnSingleAnalysis(componentUuid, analysisUuid, ids));
+      ids -> executeLargeInputs(
+        componentUuids,
+        uuids -> mapper(dbSession).selectPastMeasuresOnSingleAnalysis(uuids, analysisUuid, ids)));
   }
 
   /**
@@ -53,6 +53,14 @@ public class FileSourceDao implements Dao {
     return mapper(dbSession).select(fileUuid, Type.TEST);
   }
 
+  /**
+   * Hash of the binary data of the source of the specified file. The binary data itself is not loaded.
+   */
+  @CheckForNull
+  public String selectSourceDataHash(DbSession dbSession, String fileUuid) {
+    return mapper(dbSession).selectDataHash(fileUuid, Type.SOURCE);
+  }
+
   @CheckForNull
   public LineHashVersion selectLineHashesVersion(DbSession dbSession, String fileUuid) {
     Integer version = mapper(dbSession).selectLineHashesVersion(fileUuid, Type.SOURCE);
@@ -497,6 +497,33 @@ public class CeQueueDaoTest {
     assertThat(underTest.countByStatus(db.getSession(), IN_PROGRESS)).isEqualTo(2);
   }
 
+  @Test
+  public void count_by_component_uuid_group_by_status() {
+    insert(newCeQueueDto(TASK_UUID_1)
+      .setComponentUuid(COMPONENT_UUID_1)
+      .setStatus(IN_PROGRESS)
+      .setTaskType(CeTaskTypes.REPORT)
+      .setCreatedAt(100_000L));
+    insert(newCeQueueDto(TASK_UUID_2)
+      .setComponentUuid(COMPONENT_UUID_2)
+      .setStatus(IN_PROGRESS)
+      .setTaskType(CeTaskTypes.REPORT)
+      .setCreatedAt(100_000L));
+    insert(newCeQueueDto(TASK_UUID_3)
+      .setComponentUuid(COMPONENT_UUID_1)
+      .setStatus(PENDING)
+      .setTaskType(CeTaskTypes.REPORT)
+      .setCreatedAt(100_000L));
+
+    assertThat(underTest.countByComponentUuidGroupByStatus(db.getSession(), COMPONENT_UUID_1))
+      .containsOnly(entry(IN_PROGRESS, 1), entry(PENDING, 1));
+    assertThat(underTest.countByComponentUuidGroupByStatus(db.getSession(), COMPONENT_UUID_2))
+      .containsOnly(entry(IN_PROGRESS, 1));
+    assertThat(underTest.countByComponentUuidGroupByStatus(db.getSession(), "non existing component uuid")).isEmpty();
+    assertThat(underTest.countByComponentUuidGroupByStatus(db.getSession(), null))
+      .containsOnly(entry(IN_PROGRESS, 2), entry(PENDING, 1));
+  }
+
   private void insert(CeQueueDto dto) {
     underTest.insert(db.getSession(), dto);
     db.commit();
@@ -290,6 +290,25 @@ public class LiveMeasureDaoTest {
     verifyTableSize(1);
   }
 
+  @Test
+  public void updateMarker() {
+    LiveMeasureDto measure1 = newLiveMeasure().setProjectUuid("P1");
+    LiveMeasureDto measure2 = newLiveMeasure().setProjectUuid("P1").setComponentUuid(measure1.getComponentUuid());
+    LiveMeasureDto measure3NotUpdated = newLiveMeasure().setProjectUuid("P1").setComponentUuid(measure1.getComponentUuid());
+    LiveMeasureDto measure4OtherComponent = newLiveMeasure().setProjectUuid("P1").setMetricId(measure1.getMetricId());
+    underTest.insertOrUpdate(db.getSession(), measure1, "bar");
+    underTest.insertOrUpdate(db.getSession(), measure2, "bar");
+    underTest.insertOrUpdate(db.getSession(), measure3NotUpdated, "bar");
+    underTest.insertOrUpdate(db.getSession(), measure4OtherComponent, "bar");
+
+    underTest.updateMarker(db.getSession(), measure1.getComponentUuid(), asList(measure1.getMetricId(), measure2.getMetricId()), "foo");
+    underTest.deleteByProjectUuidExcludingMarker(db.getSession(), "P1", "foo");
+
+    verifyTableSize(2);
+    verifyPersisted(measure1);
+    verifyPersisted(measure2);
+  }
+
   @Test
   public void deleteByProjectUuidExcludingMarker() {
     LiveMeasureDto measure1 = newLiveMeasure().setProjectUuid("P1");
@@ -37,6 +37,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.sonar.api.utils.DateUtils.parseDate;
 import static org.sonar.db.component.ComponentTesting.newFileDto;
 import static org.sonar.db.component.ComponentTesting.newModuleDto;
@@ -205,6 +206,31 @@ public class MeasureDaoTest {
     assertThat(result).hasSize(2).extracting(MeasureDto::getData).containsOnly("PROJECT_M1", "PROJECT_M2");
   }
 
+  @Test
+  public void select_past_measures_of_several_components_on_single_analysis() {
+    ComponentDto project = db.components().insertPrivateProject();
+    ComponentDto module = db.components().insertComponent(newModuleDto(project));
+    ComponentDto otherModule = db.components().insertComponent(newModuleDto(project));
+    SnapshotDto lastAnalysis = insertAnalysis(project.uuid(), true);
+    SnapshotDto pastAnalysis = insertAnalysis(project.uuid(), false);
+
+    insertMeasure("PROJECT_M1", pastAnalysis.getUuid(), project.uuid(), NCLOC_METRIC_ID);
+    insertMeasure("PROJECT_M2", pastAnalysis.getUuid(), project.uuid(), COVERAGE_METRIC_ID);
+    insertMeasure("PROJECT_M3", lastAnalysis.getUuid(), project.uuid(), NCLOC_METRIC_ID);
+    insertMeasure("MODULE_M1", pastAnalysis.getUuid(), module.uuid(), NCLOC_METRIC_ID);
+    insertMeasure("OTHER_MODULE_M1", pastAnalysis.getUuid(), otherModule.uuid(), NCLOC_METRIC_ID);
+    db.commit();
+
+    List<PastMeasureDto> result = underTest.selectPastMeasures(dbSession, asList(project.uuid(), module.uuid()), pastAnalysis.getUuid(),
+      singletonList(NCLOC_METRIC_ID));
+
+    assertThat(result)
+      .extracting(PastMeasureDto::getComponentUuid, PastMeasureDto::getMetricId)
+      .containsOnly(tuple(project.uuid(), NCLOC_METRIC_ID), tuple(module.uuid(), NCLOC_METRIC_ID));
+    assertThat(underTest.selectPastMeasures(dbSession, emptyList(), pastAnalysis.getUuid(), singletonList(NCLOC_METRIC_ID))).isEmpty();
+    assertThat(underTest.selectPastMeasures(dbSession, singletonList(project.uuid()), pastAnalysis.getUuid(), emptyList())).isEmpty();
+  }
+
   private void verifyMeasures(MeasureQuery.Builder query, String... expectedIds) {
     List<MeasureDto> measures = underTest.selectByQuery(db.getSession(), query.build());
     assertThat(measures).extracting(MeasureDto::getData).containsOnly(expectedIds);
@@ -743,6 +743,15 @@ public class RuleDaoTest {
       singletonList(RuleKey.of("unknown", "Unknown")))).isEmpty();
   }
 
+  @Test
+  public void select_all_parameters() {
+    db.prepareDbUnit(getClass(), "select_parameters_by_rule_key.xml");
+
+    List<RuleParamDto> ruleParamDtos = underTest.selectAllRuleParams(db.getSession());
+
+    assertThat(ruleParamDtos).extracting(RuleParamDto::getRuleId).containsExactlyInAnyOrder(1, 2);
+  }
+
   @Test
   public void insert_parameter() {
     RuleDefinitionDto ruleDefinitionDto = db.rules().insert();
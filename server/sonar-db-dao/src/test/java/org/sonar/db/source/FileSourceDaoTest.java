@@ -204,6 +204,32 @@ public class FileSourceDaoTest {
     assertThat(underTest.selectLineHashes(dbSession, "FILE2_UUID")).isEmpty();
   }
 
+  @Test
+  public void selectSourceDataHash() {
+    underTest.insert(dbSession, new FileSourceDto()
+      .setProjectUuid("PRJ_UUID")
+      .setFileUuid("FILE2_UUID")
+      .setBinaryData("FILE2_BINARY_DATA".getBytes())
+      .setDataHash("FILE2_DATA_HASH")
+      .setSrcHash("FILE2_HASH")
+      .setDataType(Type.SOURCE)
+      .setCreatedAt(1500000000000L)
+      .setUpdatedAt(1500000000001L));
+    underTest.insert(dbSession, new FileSourceDto()
+      .setProjectUuid("PRJ_UUID")
+      .setFileUuid("FILE3_UUID")
+      .setBinaryData("FILE3_BINARY_DATA".getBytes())
+      .setDataHash("FILE3_DATA_HASH")
+      .setDataType(Type.TEST)
+      .setCreatedAt(1500000000000L)
+      .setUpdatedAt(1500000000001L));
+    dbSession.commit();
+
+    assertThat(underTest.selectSourceDataHash(dbSession, "FILE2_UUID")).isEqualTo("FILE2_DATA_HASH");
+    assertThat(underTest.selectSourceDataHash(dbSession, "FILE3_UUID")).isNull();
+    assertThat(underTest.selectSourceDataHash(dbSession, "UNKNOWN")).isNull();
+  }
+
   @Test
   public void selectLineHashesVersion_returns_without_significant_code_by_default() {
     underTest.insert(dbSession, new FileSourceDto()
@@ -20,6 +20,7 @@
 package org.sonar.server.ce.ws;
 
 import com.google.common.base.Optional;
+import java.util.Map;
 import org.sonar.api.server.ws.Change;
 import org.sonar.api.server.ws.Response;
 import org.sonar.api.server.ws.WebService;
@@ -83,8 +84,9 @@ public class ActivityStatusAction implements CeWsAction {
       Optional<ComponentDto> component = searchComponent(dbSession, request);
       String componentUuid = component.isPresent() ? component.get().uuid() : null;
       checkPermissions(component);
-      int pendingCount = dbClient.ceQueueDao().countByStatusAndComponentUuid(dbSession, CeQueueDto.Status.PENDING, componentUuid);
-      int inProgressCount = dbClient.ceQueueDao().countByStatusAndComponentUuid(dbSession, CeQueueDto.Status.IN_PROGRESS, componentUuid);
+      Map<CeQueueDto.Status, Integer> queueCounts = dbClient.ceQueueDao().countByComponentUuidGroupByStatus(dbSession, componentUuid);
+      int pendingCount = queueCounts.getOrDefault(CeQueueDto.Status.PENDING, 0);
+      int inProgressCount = queueCounts.getOrDefault(CeQueueDto.Status.IN_PROGRESS, 0);
       int failingCount = dbClient.ceActivityDao().countLastByStatusAndComponentUuid(dbSession, CeActivityDto.Status.FAILED, componentUuid);
 
       return ActivityStatusWsResponse.newBuilder()
@@ -24,6 +24,7 @@ import org.sonar.core.platform.Module;
 import org.sonar.server.computation.task.projectanalysis.container.ContainerFactoryImpl;
 import org.sonar.server.computation.task.projectanalysis.taskprocessor.ReportTaskProcessor;
 import org.sonar.server.computation.task.step.ComputationStepExecutor;
+import org.sonar.server.computation.task.step.ComputationStepStatistics;
 
 public class ProjectAnalysisTaskModule extends Module {
   @Override
@@ -32,6 +33,7 @@ public class ProjectAnalysisTaskModule extends Module {
       // task
       ContainerFactoryImpl.class,
       ComputationStepExecutor.class,
+      ComputationStepStatistics.class,
       ReportTaskProcessor.class,
       ReportSubmitter.class);
   }
@@ -23,7 +23,9 @@ import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
@@ -34,6 +36,7 @@ import org.sonar.core.util.logs.Profiler;
 import static com.google.common.collect.FluentIterable.from;
 import static com.google.common.collect.Iterables.concat;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * This crawler make any number of {@link TypeAwareVisitor} or {@link PathAwareVisitor} defined in a list visit a component tree, component per component, in the order of the list
@@ -44,6 +47,11 @@ public class VisitorsCrawler implements ComponentCrawler {
   private final Map<ComponentVisitor, VisitorDuration> visitorCumulativeDurations;
   private final List<VisitorWrapper> preOrderVisitorWrappers;
   private final List<VisitorWrapper> postOrderVisitorWrappers;
+  /**
+   * Visitors to be executed on each type of component, computed once rather than for each visited component.
+   */
+  private final Map<Component.Type, List<VisitorWrapper>> preOrderVisitorWrappersByType;
+  private final Map<Component.Type, List<VisitorWrapper>> postOrderVisitorWrappersByType;
 
   public VisitorsCrawler(Iterable<ComponentVisitor> visitors) {
     this(visitors, false);
@@ -53,10 +61,20 @@ public class VisitorsCrawler implements ComponentCrawler {
     List<VisitorWrapper> visitorWrappers = from(visitors).transform(ToVisitorWrapper.INSTANCE).toList();
     this.preOrderVisitorWrappers = from(visitorWrappers).filter(MathPreOrderVisitor.INSTANCE).toList();
     this.postOrderVisitorWrappers = from(visitorWrappers).filter(MatchPostOrderVisitor.INSTANCE).toList();
+    this.preOrderVisitorWrappersByType = byComponentType(preOrderVisitorWrappers);
+    this.postOrderVisitorWrappersByType = byComponentType(postOrderVisitorWrappers);
     this.computeDuration = computeDuration;
     this.visitorCumulativeDurations = computeDuration ? from(visitors).toMap(VisitorWrapperToInitialDuration.INSTANCE) : Collections.emptyMap();
   }
 
+  private static Map<Component.Type, List<VisitorWrapper>> byComponentType(List<VisitorWrapper> visitorWrappers) {
+    Map<Component.Type, List<VisitorWrapper>> res = new EnumMap<>(Component.Type.class);
+    for (Component.Type type : Component.Type.values()) {
+      res.put(type, from(visitorWrappers).filter(MatchVisitorMaxDepth.forType(type)).toList());
+    }
+    return res;
+  }
+
   public Map<ComponentVisitor, Long> getCumulativeDurations() {
     if (computeDuration) {
       return ImmutableMap.copyOf(
@@ -66,6 +84,26 @@ public class VisitorsCrawler implements ComponentCrawler {
     return Collections.emptyMap();
   }
 
+  /**
+   * Cumulative duration in milliseconds of each visitor, for each type of visited component.
+   */
+  public Map<ComponentVisitor, Map<Component.Type, Long>> getCumulativeDurationsByType() {
+    if (computeDuration) {
+      return ImmutableMap.copyOf(Maps.transformValues(this.visitorCumulativeDurations, VisitorDuration::getDurationsByType));
+    }
+    return Collections.emptyMap();
+  }
+
+  /**
+   * Number of components visited by each visitor, for each type of component.
+   */
+  public Map<ComponentVisitor, Map<Component.Type, Integer>> getVisitCountsByType() {
+    if (computeDuration) {
+      return ImmutableMap.copyOf(Maps.transformValues(this.visitorCumulativeDurations, VisitorDuration::getCountsByType));
+    }
+    return Collections.emptyMap();
+  }
+
   @Override
   public void visit(final Component component) {
     try {
@@ -79,9 +117,8 @@ public class VisitorsCrawler implements ComponentCrawler {
   }
 
   private void visitImpl(Component component) {
-    MatchVisitorMaxDepth visitorMaxDepth = MatchVisitorMaxDepth.forComponent(component);
-    List<VisitorWrapper> preOrderVisitorWrappersToExecute = from(preOrderVisitorWrappers).filter(visitorMaxDepth).toList();
-    List<VisitorWrapper> postOrderVisitorWrappersToExecute = from(postOrderVisitorWrappers).filter(visitorMaxDepth).toList();
+    List<VisitorWrapper> preOrderVisitorWrappersToExecute = preOrderVisitorWrappersByType.get(component.getType());
+    List<VisitorWrapper> postOrderVisitorWrappersToExecute = postOrderVisitorWrappersByType.get(component.getType());
     if (preOrderVisitorWrappersToExecute.isEmpty() && postOrderVisitorWrappersToExecute.isEmpty()) {
       return;
     }
@@ -112,8 +149,9 @@ public class VisitorsCrawler implements ComponentCrawler {
   }
 
   private void visitNode(Component component, VisitorWrapper visitor) {
-    Profiler profiler = Profiler.create(Loggers.get(visitor.getWrappedVisitor().getClass()))
+    Profiler profiler = Profiler.createIfTrace(Loggers.get(visitor.getWrappedVisitor().getClass()))
       .startTrace("Visiting component {}", component.getKey());
+    long start = computeDuration ? System.nanoTime() : 0L;
     visitor.visitAny(component);
     switch (component.getType()) {
       case PROJECT:
@@ -140,13 +178,9 @@ public class VisitorsCrawler implements ComponentCrawler {
       default:
         throw new IllegalStateException(String.format("Unknown type %s", component.getType().name()));
     }
-    long duration = profiler.stopTrace();
-    incrementDuration(visitor, duration);
-  }
-
-  private void incrementDuration(VisitorWrapper visitorWrapper, long duration) {
+    profiler.stopTrace();
     if (computeDuration) {
-      visitorCumulativeDurations.get(visitorWrapper.getWrappedVisitor()).increment(duration);
+      visitorCumulativeDurations.get(visitor.getWrappedVisitor()).increment(component.getType(), System.nanoTime() - start);
     }
   }
 
@@ -181,8 +215,8 @@ public class VisitorsCrawler implements ComponentCrawler {
       return builder.build();
     }
 
-    public static MatchVisitorMaxDepth forComponent(Component component) {
-      return INSTANCES.get(component.getType());
+    public static MatchVisitorMaxDepth forType(Component.Type type) {
+      return INSTANCES.get(type);
     }
 
     @Override
@@ -210,15 +244,40 @@ public class VisitorsCrawler implements ComponentCrawler {
     }
   }
 
+  /**
+   * Durations are accumulated in nanoseconds, as most visits of a single component take less than a millisecond.
+   */
   private static final class VisitorDuration {
-    private long duration = 0;
+    private final long[] nanosByType = new long[Component.Type.values().length];
+    private final int[] countsByType = new int[Component.Type.values().length];
 
-    public void increment(long duration) {
-      this.duration += duration;
+    public void increment(Component.Type type, long nanos) {
+      this.nanosByType[type.ordinal()] += nanos;
+      this.countsByType[type.ordinal()]++;
     }
 
     public long getDuration() {
-      return duration;
+      return NANOSECONDS.toMillis(Arrays.stream(nanosByType).sum());
+    }
+
+    public Map<Component.Type, Long> getDurationsByType() {
+      Map<Component.Type, Long> res = new EnumMap<>(Component.Type.class);
+      for (Component.Type type : Component.Type.values()) {
+        if (countsByType[type.ordinal()] > 0) {
+          res.put(type, NANOSECONDS.toMillis(nanosByType[type.ordinal()]));
+        }
+      }
+      return res;
+    }
+
+    public Map<Component.Type, Integer> getCountsByType() {
+      Map<Component.Type, Integer> res = new EnumMap<>(Component.Type.class);
+      for (Component.Type type : Component.Type.values()) {
+        if (countsByType[type.ordinal()] > 0) {
+          res.put(type, countsByType[type.ordinal()]);
+        }
+      }
+      return res;
     }
   }
 
@@ -20,6 +20,8 @@
 package org.sonar.server.computation.task.projectanalysis.step;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.ListMultimap;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -43,13 +45,12 @@ import org.sonar.server.computation.task.projectanalysis.measure.MeasureKey;
 import org.sonar.server.computation.task.projectanalysis.measure.MeasureRepository;
 import org.sonar.server.computation.task.projectanalysis.metric.Metric;
 import org.sonar.server.computation.task.projectanalysis.metric.MetricRepository;
-import org.sonar.server.computation.task.projectanalysis.period.Period;
 import org.sonar.server.computation.task.projectanalysis.period.PeriodHolder;
 import org.sonar.server.computation.task.step.ComputationStep;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
-import static java.util.function.Function.identity;
+import static org.sonar.core.util.stream.MoreCollectors.index;
 import static org.sonar.core.util.stream.MoreCollectors.uniqueIndex;
 import static org.sonar.server.computation.task.projectanalysis.component.Component.Type.DIRECTORY;
 import static org.sonar.server.computation.task.projectanalysis.component.Component.Type.SUBVIEW;
@@ -63,6 +64,11 @@ import static org.sonar.server.computation.task.projectanalysis.component.Compon
  */
 public class ComputeMeasureVariationsStep implements ComputationStep {
 
+  // measures on files are currently purged, so past measures are not available on files
+  private static final CrawlerDepthLimit VISITED_DEPTH = CrawlerDepthLimit.reportMaxDepth(DIRECTORY).withViewsMaxDepth(SUBVIEW);
+  // number of components whose past measures are loaded at once
+  static final int PARTITION_SIZE = 1_000;
+
   private final DbClient dbClient;
   private final TreeRootHolder treeRootHolder;
   private final PeriodHolder periodHolder;
@@ -82,20 +88,25 @@ public class ComputeMeasureVariationsStep implements ComputationStep {
   public void execute() {
     try (DbSession dbSession = dbClient.openSession(false)) {
       List<Metric> metrics = StreamSupport.stream(metricRepository.getAll().spliterator(), false).filter(isNumeric()).collect(MoreCollectors.toList());
-      new DepthTraversalTypeAwareCrawler(new VariationMeasuresVisitor(dbSession, metrics))
-        .visit(treeRootHolder.getRoot());
+      VariationMeasuresVisitor visitor = new VariationMeasuresVisitor(dbSession, metrics);
+      new DepthTraversalTypeAwareCrawler(visitor).visit(treeRootHolder.getRoot());
+      visitor.flush();
     }
   }
 
+  /**
+   * Components are processed by partitions of {@link #PARTITION_SIZE}, the past measures of a partition being loaded
+   * at once.
+   */
   private class VariationMeasuresVisitor extends TypeAwareVisitorAdapter {
 
     private final DbSession session;
     private final Set<Integer> metricIds;
     private final List<Metric> metrics;
+    private final List<Component> partition = new ArrayList<>(PARTITION_SIZE);
 
     VariationMeasuresVisitor(DbSession session, List<Metric> metrics) {
-      // measures on files are currently purged, so past measures are not available on files
-      super(CrawlerDepthLimit.reportMaxDepth(DIRECTORY).withViewsMaxDepth(SUBVIEW), PRE_ORDER);
+      super(VISITED_DEPTH, PRE_ORDER);
       this.session = session;
       this.metricIds = metrics.stream().map(Metric::getId).collect(MoreCollectors.toSet());
       this.metrics = metrics;
@@ -103,29 +114,40 @@ public class ComputeMeasureVariationsStep implements ComputationStep {
 
     @Override
     public void visitAny(Component component) {
-      MeasuresWithVariationRepository measuresWithVariationRepository = computeMeasuresWithVariations(component);
-      processMeasuresWithVariation(component, measuresWithVariationRepository);
+      partition.add(component);
+      if (partition.size() >= PARTITION_SIZE) {
+        flush();
+      }
     }
 
-    private MeasuresWithVariationRepository computeMeasuresWithVariations(Component component) {
-      MeasuresWithVariationRepository measuresWithVariationRepository = new MeasuresWithVariationRepository();
-      if (periodHolder.hasPeriod()) {
-        Period period = periodHolder.getPeriod();
-        List<PastMeasureDto> pastMeasures = dbClient.measureDao()
-          .selectPastMeasures(session, component.getUuid(), period.getAnalysisUuid(), metricIds);
-        setVariationMeasures(component, pastMeasures, measuresWithVariationRepository);
+    private void flush() {
+      if (periodHolder.hasPeriod() && !partition.isEmpty()) {
+        List<String> componentUuids = partition.stream().map(Component::getUuid).collect(MoreCollectors.toList(partition.size()));
+        ListMultimap<String, PastMeasureDto> pastMeasuresByComponentUuid = dbClient.measureDao()
+          .selectPastMeasures(session, componentUuids, periodHolder.getPeriod().getAnalysisUuid(), metricIds)
+          .stream()
+          .collect(index(PastMeasureDto::getComponentUuid));
+        for (Component component : partition) {
+          Map<Integer, PastMeasureDto> pastMeasuresByMetricId = pastMeasuresByComponentUuid.get(component.getUuid())
+            .stream()
+            .collect(uniqueIndex(PastMeasureDto::getMetricId));
+          processMeasuresWithVariation(component, computeMeasuresWithVariations(component, pastMeasuresByMetricId));
+        }
       }
+      partition.clear();
+    }
+
+    private MeasuresWithVariationRepository computeMeasuresWithVariations(Component component, Map<Integer, PastMeasureDto> pastMeasuresByMetricId) {
+      MeasuresWithVariationRepository measuresWithVariationRepository = new MeasuresWithVariationRepository();
+      setVariationMeasures(component, pastMeasuresByMetricId, measuresWithVariationRepository);
       return measuresWithVariationRepository;
     }
 
-    private void setVariationMeasures(Component component, List<PastMeasureDto> pastMeasures, MeasuresWithVariationRepository measuresWithVariationRepository) {
-      Map<MeasureKey, PastMeasureDto> pastMeasuresByMeasureKey = pastMeasures
-        .stream()
-        .collect(uniqueIndex(m -> new MeasureKey(metricRepository.getById((long) m.getMetricId()).getKey(), null), identity()));
+    private void setVariationMeasures(Component component, Map<Integer, PastMeasureDto> pastMeasuresByMetricId, MeasuresWithVariationRepository measuresWithVariationRepository) {
       for (Metric metric : metrics) {
         Optional<Measure> measure = measureRepository.getRawMeasure(component, metric);
         if (measure.isPresent() && !measure.get().hasVariation()) {
-          PastMeasureDto pastMeasure = pastMeasuresByMeasureKey.get(new MeasureKey(metric.getKey(), null));
+          PastMeasureDto pastMeasure = pastMeasuresByMetricId.get(metric.getId());
           double pastValue = (pastMeasure != null && pastMeasure.hasValue()) ? pastMeasure.getValue() : 0d;
           measuresWithVariationRepository.add(metric, measure.get(), computeVariation(measure.get(), pastValue));
         }
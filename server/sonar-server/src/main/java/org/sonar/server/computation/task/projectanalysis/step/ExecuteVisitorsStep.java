@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
+import org.sonar.server.computation.task.projectanalysis.component.Component;
 import org.sonar.server.computation.task.projectanalysis.component.ComponentVisitor;
 import org.sonar.server.computation.task.projectanalysis.component.TreeRootHolder;
 import org.sonar.server.computation.task.projectanalysis.component.VisitorsCrawler;
@@ -47,18 +48,25 @@ public class ExecuteVisitorsStep implements ComputationStep {
 
   @Override
   public void execute() {
-    VisitorsCrawler visitorsCrawler = new VisitorsCrawler(visitors, LOGGER.isDebugEnabled());
+    // level is read once, as it can be changed at runtime while visitors are executed
+    boolean logDurations = LOGGER.isDebugEnabled();
+    VisitorsCrawler visitorsCrawler = new VisitorsCrawler(visitors, logDurations);
     visitorsCrawler.visit(treeRootHolder.getRoot());
-    logVisitorExecutionDurations(visitors, visitorsCrawler);
+    if (logDurations) {
+      logVisitorExecutionDurations(visitors, visitorsCrawler);
+    }
   }
 
   private static void logVisitorExecutionDurations(List<ComponentVisitor> visitors, VisitorsCrawler visitorsCrawler) {
-    if (LOGGER.isDebugEnabled()) {
-      LOGGER.debug("  Execution time for each component visitor:");
-      Map<ComponentVisitor, Long> cumulativeDurations = visitorsCrawler.getCumulativeDurations();
-      for (ComponentVisitor visitor : visitors) {
-        LOGGER.debug("  - {} | time={}ms", visitor.getClass().getSimpleName(), cumulativeDurations.get(visitor));
-      }
+    LOGGER.debug("  Execution time for each component visitor:");
+    Map<ComponentVisitor, Long> cumulativeDurations = visitorsCrawler.getCumulativeDurations();
+    Map<ComponentVisitor, Map<Component.Type, Long>> durationsByType = visitorsCrawler.getCumulativeDurationsByType();
+    Map<ComponentVisitor, Map<Component.Type, Integer>> visitCountsByType = visitorsCrawler.getVisitCountsByType();
+    for (ComponentVisitor visitor : visitors) {
+      StringBuilder byType = new StringBuilder();
+      visitCountsByType.get(visitor).forEach((type, count) -> byType.append(" | ").append(type).append('=')
+        .append(durationsByType.get(visitor).get(type)).append("ms/").append(count));
+      LOGGER.debug("  - {} | time={}ms{}", visitor.getClass().getSimpleName(), cumulativeDurations.get(visitor), byType);
     }
   }
 }
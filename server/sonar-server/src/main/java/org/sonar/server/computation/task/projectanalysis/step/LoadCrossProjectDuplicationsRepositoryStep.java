@@ -20,12 +20,20 @@
 package org.sonar.server.computation.task.projectanalysis.step;
 
 import com.google.common.base.Function;
+import com.google.common.collect.ListMultimap;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.core.util.CloseableIterator;
+import org.sonar.core.util.stream.MoreCollectors;
 import org.sonar.db.DbClient;
 import org.sonar.db.DbSession;
 import org.sonar.db.duplication.DuplicationUnitDto;
@@ -58,6 +66,7 @@ import static org.sonar.server.computation.task.projectanalysis.component.Compon
 public class LoadCrossProjectDuplicationsRepositoryStep implements ComputationStep {
 
   private static final Logger LOGGER = Loggers.get(LoadCrossProjectDuplicationsRepositoryStep.class);
+  private static final int MAX_HASHES_PER_BATCH = 10_000;
 
   private final TreeRootHolder treeRootHolder;
   private final BatchReportReader reportReader;
@@ -80,7 +89,9 @@ public class LoadCrossProjectDuplicationsRepositoryStep implements ComputationSt
   @Override
   public void execute() {
     if (crossProjectDuplicationStatusHolder.isEnabled()) {
-      new DepthTraversalTypeAwareCrawler(new CrossProjectDuplicationVisitor()).visit(treeRootHolder.getRoot());
+      CrossProjectDuplicationVisitor visitor = new CrossProjectDuplicationVisitor();
+      new DepthTraversalTypeAwareCrawler(visitor).visit(treeRootHolder.getRoot());
+      visitor.flush();
     }
   }
 
@@ -89,7 +100,12 @@ public class LoadCrossProjectDuplicationsRepositoryStep implements ComputationSt
     return "Compute cross project duplications";
   }
 
+  /**
+   * Files are grouped by language so that candidates of several files are loaded with a single query, candidates
+   * being then dispatched to each file according to their hash.
+   */
   private class CrossProjectDuplicationVisitor extends TypeAwareVisitorAdapter {
+    private final Map<String, FilesBatch> batchesByLanguage = new HashMap<>();
 
     private CrossProjectDuplicationVisitor() {
       super(CrawlerDepthLimit.FILE, PRE_ORDER);
@@ -106,34 +122,67 @@ public class LoadCrossProjectDuplicationsRepositoryStep implements ComputationSt
         }
       }
 
-      Collection<String> hashes = from(cpdTextBlocks).transform(CpdTextBlockToHash.INSTANCE).toList();
-      List<DuplicationUnitDto> dtos = selectDuplicates(file, hashes);
+      String languageKey = file.getFileAttributes().getLanguageKey();
+      FilesBatch batch = batchesByLanguage.computeIfAbsent(languageKey, FilesBatch::new);
+      batch.add(file, cpdTextBlocks);
+      if (batch.hashes.size() >= MAX_HASHES_PER_BATCH) {
+        batchesByLanguage.remove(languageKey);
+        process(batch);
+      }
+    }
+
+    private void flush() {
+      batchesByLanguage.values().forEach(this::process);
+      batchesByLanguage.clear();
+    }
+
+    private void process(FilesBatch batch) {
+      List<DuplicationUnitDto> dtos = selectDuplicates(batch.languageKey, batch.hashes);
       if (dtos.isEmpty()) {
         return;
       }
+      ListMultimap<String, DuplicationUnitDto> dtosByHash = from(dtos).index(DuplicationUnitDto::getHash);
+      batch.cpdTextBlocksByFile.forEach((file, cpdTextBlocks) -> computeCpd(file, cpdTextBlocks, dtosByHash));
+    }
+
+    private void computeCpd(Component file, List<CpdTextBlock> cpdTextBlocks, ListMultimap<String, DuplicationUnitDto> dtosByHash) {
+      Collection<Block> duplicatedBlocks = cpdTextBlocks.stream()
+        .map(CpdTextBlock::getHash)
+        .distinct()
+        .flatMap(hash -> dtosByHash.get(hash).stream())
+        .map(DtoToBlock.INSTANCE::apply)
+        .collect(MoreCollectors.toList());
+      if (duplicatedBlocks.isEmpty()) {
+        return;
+      }
 
-      Collection<Block> duplicatedBlocks = from(dtos).transform(DtoToBlock.INSTANCE).toList();
       Collection<Block> originBlocks = from(cpdTextBlocks).transform(new CpdTextBlockToBlock(file.getKey())).toList();
       LOGGER.trace("Found {} duplicated cpd blocks on file {}", duplicatedBlocks.size(), file.getKey());
 
       integrateCrossProjectDuplications.computeCpd(file, originBlocks, duplicatedBlocks);
     }
 
-    private List<DuplicationUnitDto> selectDuplicates(Component file, Collection<String> hashes) {
+    private List<DuplicationUnitDto> selectDuplicates(@Nullable String languageKey, Collection<String> hashes) {
       try (DbSession dbSession = dbClient.openSession(false)) {
         Analysis projectAnalysis = analysisMetadataHolder.getBaseAnalysis();
         String analysisUuid = projectAnalysis == null ? null : projectAnalysis.getUuid();
-        return dbClient.duplicationDao().selectCandidates(dbSession, analysisUuid, file.getFileAttributes().getLanguageKey(), hashes);
+        return dbClient.duplicationDao().selectCandidates(dbSession, analysisUuid, languageKey, hashes);
       }
     }
   }
 
-  private enum CpdTextBlockToHash implements Function<CpdTextBlock, String> {
-    INSTANCE;
+  private static class FilesBatch {
+    private final String languageKey;
+    private final Map<Component, List<CpdTextBlock>> cpdTextBlocksByFile = new LinkedHashMap<>();
+    private final Set<String> hashes = new HashSet<>();
 
-    @Override
-    public String apply(@Nonnull CpdTextBlock duplicationBlock) {
-      return duplicationBlock.getHash();
+    private FilesBatch(@Nullable String languageKey) {
+      this.languageKey = languageKey;
+    }
+
+    private void add(Component file, List<CpdTextBlock> cpdTextBlocks) {
+      cpdTextBlocksByFile.put(file, cpdTextBlocks);
+      cpdTextBlocks.forEach(block -> hashes.add(block.getHash()));
     }
   }
 
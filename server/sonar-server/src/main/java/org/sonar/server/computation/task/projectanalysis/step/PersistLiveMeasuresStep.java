@@ -20,10 +20,13 @@
 package org.sonar.server.computation.task.projectanalysis.step;
 
 import com.google.common.collect.Multimap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.Predicate;
 import javax.annotation.Nonnull;
@@ -46,10 +49,13 @@ import org.sonar.server.computation.task.projectanalysis.metric.MetricRepository
 import org.sonar.server.computation.task.step.ComputationStep;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static java.util.Collections.unmodifiableSet;
 import static org.sonar.api.measures.CoreMetrics.CLASS_COMPLEXITY_DISTRIBUTION_KEY;
 import static org.sonar.api.measures.CoreMetrics.FILE_COMPLEXITY_DISTRIBUTION_KEY;
 import static org.sonar.api.measures.CoreMetrics.FUNCTION_COMPLEXITY_DISTRIBUTION_KEY;
+import static org.sonar.core.util.stream.MoreCollectors.toSet;
+import static org.sonar.core.util.stream.MoreCollectors.uniqueIndex;
 import static org.sonar.server.computation.task.projectanalysis.component.ComponentVisitor.Order.PRE_ORDER;
 
 public class PersistLiveMeasuresStep implements ComputationStep {
@@ -93,6 +99,10 @@ public class PersistLiveMeasuresStep implements ComputationStep {
     }
   }
 
+  /**
+   * Measures are compared to the ones persisted on the same component, so that only the new or changed measures are
+   * written. Unchanged measures are only flagged with the marker, to be kept by the final delete.
+   */
   private class MeasureVisitor extends TypeAwareVisitorAdapter {
     private final DbSession dbSession;
     private final String marker;
@@ -105,8 +115,37 @@ public class PersistLiveMeasuresStep implements ComputationStep {
 
     @Override
     public void visitAny(Component component) {
+      List<LiveMeasureDto> liveMeasures = toLiveMeasures(component);
+      if (liveMeasures.isEmpty()) {
+        return;
+      }
+
       int count = 0;
       LiveMeasureDao dao = dbClient.liveMeasureDao();
+      Map<Integer, LiveMeasureDto> persistedByMetricId = dao.selectByComponentUuidsAndMetricIds(dbSession, singletonList(component.getUuid()),
+        liveMeasures.stream().map(LiveMeasureDto::getMetricId).collect(toSet()))
+        .stream()
+        .collect(uniqueIndex(LiveMeasureDto::getMetricId));
+      List<Integer> unchangedMetricIds = new ArrayList<>();
+      for (LiveMeasureDto liveMeasure : liveMeasures) {
+        LiveMeasureDto persisted = persistedByMetricId.get(liveMeasure.getMetricId());
+        if (persisted != null && hasSameValues(persisted, liveMeasure)) {
+          unchangedMetricIds.add(liveMeasure.getMetricId());
+          continue;
+        }
+        dao.insertOrUpdate(dbSession, liveMeasure, marker);
+        count++;
+        if (count % 100 == 0) {
+          // use short transactions to avoid potential deadlocks on MySQL
+          // https://jira.sonarsource.com/browse/SONAR-10117?focusedCommentId=153555&page=com.atlassian.jira.plugin.system.issuetabpanels:comment-tabpanel#comment-153555
+          dbSession.commit();
+        }
+      }
+      dao.updateMarker(dbSession, component.getUuid(), unchangedMetricIds, marker);
+    }
+
+    private List<LiveMeasureDto> toLiveMeasures(Component component) {
+      List<LiveMeasureDto> liveMeasures = new ArrayList<>();
       Multimap<String, Measure> measures = measureRepository.getRawMeasures(component);
       for (Map.Entry<String, Collection<Measure>> measuresByMetricKey : measures.asMap().entrySet()) {
         String metricKey = measuresByMetricKey.getKey();
@@ -115,24 +154,23 @@ public class PersistLiveMeasuresStep implements ComputationStep {
         }
         Metric metric = metricRepository.getByKey(metricKey);
         Predicate<Measure> notBestValueOptimized = BestValueOptimization.from(metric, component).negate();
-        Iterator<LiveMeasureDto> liveMeasures = measuresByMetricKey.getValue().stream()
+        measuresByMetricKey.getValue().stream()
           .filter(NonEmptyMeasure.INSTANCE)
           .filter(notBestValueOptimized)
           .map(measure -> measureToMeasureDto.toLiveMeasureDto(measure, metric, component))
-          .iterator();
-        while (liveMeasures.hasNext()) {
-          dao.insertOrUpdate(dbSession, liveMeasures.next(), marker);
-          count++;
-          if (count % 100 == 0) {
-            // use short transactions to avoid potential deadlocks on MySQL
-            // https://jira.sonarsource.com/browse/SONAR-10117?focusedCommentId=153555&page=com.atlassian.jira.plugin.system.issuetabpanels:comment-tabpanel#comment-153555
-            dbSession.commit();
-          }
-        }
+          .forEach(liveMeasures::add);
       }
+      return liveMeasures;
     }
   }
 
+  private static boolean hasSameValues(LiveMeasureDto persisted, LiveMeasureDto computed) {
+    return Objects.equals(persisted.getValue(), computed.getValue())
+      && Objects.equals(persisted.getVariation(), computed.getVariation())
+      && Objects.equals(persisted.getTextValue(), computed.getTextValue())
+      && Arrays.equals(persisted.getData(), computed.getData());
+  }
+
   private enum NonEmptyMeasure implements Predicate<Measure> {
     INSTANCE;
 
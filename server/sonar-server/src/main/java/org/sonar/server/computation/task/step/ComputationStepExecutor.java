@@ -19,16 +19,22 @@
  */
 package org.sonar.server.computation.task.step;
 
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.core.util.logs.Profiler;
 
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.apache.commons.io.FileUtils.byteCountToDisplaySize;
+
 public final class ComputationStepExecutor {
   private static final Logger LOGGER = Loggers.get(ComputationStepExecutor.class);
 
   private final ComputationSteps steps;
+  private final ComputationStepStatistics statistics;
   @CheckForNull
   private final Listener listener;
 
@@ -36,12 +42,13 @@ public final class ComputationStepExecutor {
    * Used when no {@link ComputationStepExecutor.Listener} is available in pico
    * container.
    */
-  public ComputationStepExecutor(ComputationSteps steps) {
-    this(steps, null);
+  public ComputationStepExecutor(ComputationSteps steps, ComputationStepStatistics statistics) {
+    this(steps, statistics, null);
   }
 
-  public ComputationStepExecutor(ComputationSteps steps, @Nullable Listener listener) {
+  public ComputationStepExecutor(ComputationSteps steps, ComputationStepStatistics statistics, @Nullable Listener listener) {
     this.steps = steps;
+    this.statistics = statistics;
     this.listener = listener;
   }
 
@@ -59,13 +66,39 @@ public final class ComputationStepExecutor {
   }
 
   private void executeSteps(Profiler stepProfiler) {
+    boolean countAllocatedHeap = isThreadAllocatedMemorySupported();
+    boolean logAllocatedHeap = countAllocatedHeap && stepProfiler.isDebugEnabled();
     for (ComputationStep step : steps.instances()) {
       stepProfiler.start();
+      long start = System.nanoTime();
+      long allocatedBytesBefore = countAllocatedHeap ? currentThreadAllocatedBytes() : 0L;
       step.execute();
-      stepProfiler.stopDebug(step.getDescription());
+      long allocatedBytes = countAllocatedHeap ? (currentThreadAllocatedBytes() - allocatedBytesBefore) : 0L;
+      long durationInMs = NANOSECONDS.toMillis(System.nanoTime() - start);
+      if (logAllocatedHeap) {
+        stepProfiler.addContext("allocatedHeap", byteCountToDisplaySize(allocatedBytes));
+      }
+      String description = step.getDescription();
+      stepProfiler.stopDebug(description);
+      statistics.add(description, durationInMs, allocatedBytes);
     }
   }
 
+  /**
+   * Allocation counters are not part of the standard {@link java.lang.management.ThreadMXBean}. They are provided by
+   * HotSpot-based JVMs, and may be disabled.
+   */
+  private static boolean isThreadAllocatedMemorySupported() {
+    java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    return threadMXBean instanceof ThreadMXBean
+      && ((ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()
+      && ((ThreadMXBean) threadMXBean).isThreadAllocatedMemoryEnabled();
+  }
+
+  private static long currentThreadAllocatedBytes() {
+    return ((ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
   private void executeListener(boolean allStepsExecuted) {
     try {
       listener.finished(allStepsExecuted);
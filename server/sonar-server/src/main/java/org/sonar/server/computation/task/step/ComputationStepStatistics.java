@@ -0,0 +1,69 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2018 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.computation.task.step;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cumulative duration and heap allocation of each {@link ComputationStep} since startup, shared by all the workers
+ * of the Compute Engine.
+ */
+public class ComputationStepStatistics {
+  private final ConcurrentMap<String, StepStatistics> statisticsByStep = new ConcurrentHashMap<>();
+
+  /**
+   * @param allocatedBytes bytes allocated in heap by the step, {@code 0} if the JVM does not count allocations
+   */
+  public void add(String stepDescription, long durationInMs, long allocatedBytes) {
+    StepStatistics statistics = statisticsByStep.computeIfAbsent(stepDescription, k -> new StepStatistics());
+    statistics.executions.increment();
+    statistics.duration.add(durationInMs);
+    statistics.allocatedBytes.add(allocatedBytes);
+  }
+
+  /**
+   * Statistics of the steps executed since startup, sorted by step description.
+   */
+  public Map<String, StepStatistics> getAll() {
+    return new TreeMap<>(statisticsByStep);
+  }
+
+  public static final class StepStatistics {
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder duration = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    public long getExecutionCount() {
+      return executions.sum();
+    }
+
+    public long getDurationInMs() {
+      return duration.sum();
+    }
+
+    public long getAllocatedBytes() {
+      return allocatedBytes.sum();
+    }
+  }
+}
@@ -50,7 +50,7 @@ abstract class EsStatusCheck {
 
   Health checkEsStatus() {
     try {
-      ClusterHealthStatus esStatus = esClient.prepareClusterStats().get().getStatus();
+      ClusterHealthStatus esStatus = esClient.prepareHealth().get().getStatus();
       if (esStatus == null) {
         return RED_HEALTH_UNAVAILABLE;
       }
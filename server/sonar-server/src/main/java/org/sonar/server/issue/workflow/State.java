@@ -33,6 +33,8 @@ import org.sonar.api.issue.Issue;
 public class State {
   private final String key;
   private final Transition[] outTransitions;
+  private final Transition[] outManualTransitions;
+  private final Transition[] outAutomaticTransitions;
 
   public State(String key, Transition[] outTransitions) {
     Preconditions.checkArgument(!Strings.isNullOrEmpty(key), "State key must be set");
@@ -41,6 +43,8 @@ public class State {
 
     this.key = key;
     this.outTransitions = outTransitions;
+    this.outManualTransitions = Arrays.stream(outTransitions).filter(transition -> !transition.automatic()).toArray(Transition[]::new);
+    this.outAutomaticTransitions = Arrays.stream(outTransitions).filter(Transition::automatic).toArray(Transition[]::new);
   }
 
   private static void checkDuplications(Transition[] transitions, String stateKey) {
@@ -56,28 +60,24 @@ public class State {
   }
 
   public List<Transition> outManualTransitions(Issue issue) {
-    return Arrays.stream(outTransitions)
-      .filter(transition -> !transition.automatic())
+    return Arrays.stream(outManualTransitions)
       .filter(transition -> transition.supports(issue))
       .collect(Collectors.toList());
   }
 
+  /**
+   * Called on each issue of each analysis, so it does not allocate anything. When several automatic
+   * transitions support the issue, the last declared one is returned.
+   */
   @CheckForNull
   public Transition outAutomaticTransition(Issue issue) {
-    final Transition[] result = new Transition[1];
-    Set<String> keys = new HashSet<>();
-
-    Arrays.stream(outTransitions)
-      .filter(Transition::automatic)
-      .filter(transition -> transition.supports(issue))
-      .peek(transition -> result[0] = transition)
-      .filter(transition -> !keys.add(transition.key()))
-      .findAny()
-      .ifPresent(transition -> {
-        throw new IllegalArgumentException("Several automatic transitions are available for issue: " + issue);
-      });
-
-    return result[0];
+    for (int i = outAutomaticTransitions.length - 1; i >= 0; i--) {
+      Transition transition = outAutomaticTransitions[i];
+      if (transition.supports(issue)) {
+        return transition;
+      }
+    }
+    return null;
   }
 
   Transition transition(String transitionKey) {
@@ -31,6 +31,7 @@ import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import org.sonar.api.issue.DefaultTransitions;
+import org.sonar.api.notifications.Notification;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.api.rule.Severity;
 import org.sonar.api.rules.RuleType;
@@ -200,13 +201,7 @@ public class BulkChangeAction implements IssuesWsAction {
     issueStorage.save(items);
 
     refreshLiveMeasures(dbSession, bulkChangeData, result);
-
-    Set<String> assigneeUuids = items.stream().map(DefaultIssue::assignee).filter(Objects::nonNull).collect(toSet());
-    Map<String, UserDto> userDtoByUuid = dbClient.userDao().selectByUuids(dbSession, assigneeUuids).stream().collect(toMap(UserDto::getUuid, u -> u));
-    String authorUuid = requireNonNull(userSession.getUuid(), "User uuid cannot be null");
-    UserDto author = dbClient.userDao().selectByUuid(dbSession, authorUuid);
-    checkState(author != null, "User with uuid '%s' does not exist");
-    items.forEach(sendNotification(bulkChangeData, userDtoByUuid, author));
+    sendNotifications(dbSession, bulkChangeData, items);
 
     return result;
   }
@@ -254,18 +249,26 @@ public class BulkChangeAction implements IssuesWsAction {
     bulkChangeData.getCommentAction().ifPresent(action -> action.execute(bulkChangeData.getProperties(action.key()), actionContext));
   }
 
-  private Consumer<DefaultIssue> sendNotification(BulkChangeData bulkChangeData, Map<String, UserDto> userDtoByUuid, UserDto author) {
-    return issue -> {
-      if (bulkChangeData.sendNotification) {
-        notificationService.scheduleForSending(new IssueChangeNotification()
-          .setIssue(issue)
-          .setAssignee(userDtoByUuid.get(issue.assignee()))
-          .setChangeAuthor(author)
-          .setRuleName(bulkChangeData.rulesByKey.get(issue.ruleKey()).getName())
-          .setProject(bulkChangeData.projectsByUuid.get(issue.projectUuid()))
-          .setComponent(bulkChangeData.componentsByUuid.get(issue.componentUuid())));
-      }
-    };
+  private void sendNotifications(DbSession dbSession, BulkChangeData bulkChangeData, List<DefaultIssue> items) {
+    if (!bulkChangeData.sendNotification || items.isEmpty()) {
+      return;
+    }
+    Set<String> assigneeUuids = items.stream().map(DefaultIssue::assignee).filter(Objects::nonNull).collect(toSet());
+    Map<String, UserDto> userDtoByUuid = dbClient.userDao().selectByUuids(dbSession, assigneeUuids).stream().collect(toMap(UserDto::getUuid, u -> u));
+    String authorUuid = requireNonNull(userSession.getUuid(), "User uuid cannot be null");
+    UserDto author = dbClient.userDao().selectByUuid(dbSession, authorUuid);
+    checkState(author != null, "User with uuid '%s' does not exist");
+
+    List<Notification> notifications = items.stream()
+      .map(issue -> new IssueChangeNotification()
+        .setIssue(issue)
+        .setAssignee(userDtoByUuid.get(issue.assignee()))
+        .setChangeAuthor(author)
+        .setRuleName(bulkChangeData.rulesByKey.get(issue.ruleKey()).getName())
+        .setProject(bulkChangeData.projectsByUuid.get(issue.projectUuid()))
+        .setComponent(bulkChangeData.componentsByUuid.get(issue.componentUuid())))
+      .collect(MoreCollectors.toList(items.size()));
+    notificationService.scheduleForSending(notifications);
   }
 
   private static Issues.BulkChangeWsResponse toWsResponse(BulkChangeResult result) {
@@ -186,7 +186,7 @@ public class SearchResponseLoader {
     Set<String> loadedProjectUuids = loadedComponents.stream().filter(cpt -> cpt.uuid().equals(cpt.projectUuid())).map(ComponentDto::uuid).collect(MoreCollectors.toSet());
     Set<String> projectUuidsToLoad = copyOf(difference(collector.getProjectUuids(), loadedProjectUuids));
     if (!projectUuidsToLoad.isEmpty()) {
-      List<ComponentDto> projects = dbClient.componentDao().selectByUuids(dbSession, collector.getProjectUuids());
+      List<ComponentDto> projects = dbClient.componentDao().selectByUuids(dbSession, projectUuidsToLoad);
       result.addComponents(projects);
     }
   }
@@ -126,7 +126,8 @@ public class ProjectMeasuresIndexer implements ProjectIndexer, NeedAuthorization
     BulkIndexer bulkIndexer = createBulkIndexer(Size.REGULAR, listener);
     bulkIndexer.start();
 
-    List<String> projectUuids = items.stream().map(EsQueueDto::getDocId).collect(MoreCollectors.toArrayList(items.size()));
+    // the same project can be queued several times, for example by successive changes of measures and tags
+    Set<String> projectUuids = items.stream().map(EsQueueDto::getDocId).collect(MoreCollectors.toHashSet(items.size()));
     Iterator<String> it = projectUuids.iterator();
     while (it.hasNext()) {
       String projectUuid = it.next();
@@ -35,6 +35,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -414,15 +415,21 @@ public class ComponentTreeAction implements MeasuresWsAction {
       ComponentTreeQuery componentTreeQuery = toComponentTreeQuery(wsRequest, baseComponent);
       List<ComponentDto> components = searchComponents(dbSession, componentTreeQuery);
       List<MetricDto> metrics = searchMetrics(dbSession, wsRequest);
-      Table<String, MetricDto, ComponentTreeData.Measure> measuresByComponentUuidAndMetric = searchMeasuresByComponentUuidAndMetric(dbSession, baseComponent, componentTreeQuery,
-        components,
-        metrics);
-
-      components = filterComponents(components, measuresByComponentUuidAndMetric, metrics, wsRequest);
-      components = sortComponents(components, wsRequest, metrics, measuresByComponentUuidAndMetric);
-
-      int componentCount = components.size();
-      components = paginateComponents(components, wsRequest);
+      Table<String, MetricDto, ComponentTreeData.Measure> measuresByComponentUuidAndMetric;
+      int componentCount;
+      if (areMeasuresRequiredToSortOrFilter(wsRequest)) {
+        measuresByComponentUuidAndMetric = searchMeasuresByComponentUuidAndMetric(dbSession, baseComponent, componentTreeQuery, components, metrics);
+        components = filterComponents(components, measuresByComponentUuidAndMetric, metrics, wsRequest);
+        components = sortComponents(components, wsRequest, metrics, measuresByComponentUuidAndMetric);
+        componentCount = components.size();
+        components = paginateComponents(components, wsRequest);
+      } else {
+        // only the measures of the requested page are loaded
+        components = sortComponents(components, wsRequest, metrics, HashBasedTable.create());
+        componentCount = components.size();
+        components = paginateComponents(components, wsRequest);
+        measuresByComponentUuidAndMetric = searchMeasuresOfPage(dbSession, baseComponent, componentTreeQuery, components, metrics);
+      }
 
       return ComponentTreeData.builder()
         .setBaseComponent(baseComponent)
@@ -516,6 +523,44 @@ public class ComponentTreeAction implements MeasuresWsAction {
     return measuresByComponentUuidAndMetric;
   }
 
+  /**
+   * Same measures as {@link #searchMeasuresByComponentUuidAndMetric(DbSession, ComponentDto, ComponentTreeQuery, List, List)},
+   * restricted to the given components and to the base component.
+   */
+  private Table<String, MetricDto, ComponentTreeData.Measure> searchMeasuresOfPage(DbSession dbSession, ComponentDto baseComponent,
+    ComponentTreeQuery componentTreeQuery, List<ComponentDto> components, List<MetricDto> metrics) {
+
+    Map<Integer, MetricDto> metricsById = Maps.uniqueIndex(metrics, MetricDto::getId);
+    List<String> componentUuids = new ArrayList<>(components.size() + 1);
+    components.forEach(component -> componentUuids.add(component.uuid()));
+    // as in the tree query, measures of base component are returned only if it matches the filters on descendants
+    if (matches(baseComponent, componentTreeQuery)) {
+      componentUuids.add(baseComponent.uuid());
+    }
+
+    Table<String, MetricDto, ComponentTreeData.Measure> measuresByComponentUuidAndMetric = HashBasedTable.create(componentUuids.size(), metrics.size());
+    dbClient.liveMeasureDao().selectByComponentUuidsAndMetricIds(dbSession, componentUuids, metricsById.keySet())
+      .forEach(measureDto -> measuresByComponentUuidAndMetric.put(
+        measureDto.getComponentUuid(),
+        metricsById.get(measureDto.getMetricId()),
+        ComponentTreeData.Measure.createFromMeasureDto(measureDto)));
+
+    addBestValuesToMeasures(measuresByComponentUuidAndMetric, components, metrics);
+
+    return measuresByComponentUuidAndMetric;
+  }
+
+  private static boolean matches(ComponentDto component, ComponentTreeQuery componentTreeQuery) {
+    Collection<String> qualifiers = componentTreeQuery.getQualifiers();
+    if (qualifiers != null && !qualifiers.contains(component.qualifier())) {
+      return false;
+    }
+    String nameOrKeyQuery = componentTreeQuery.getNameOrKeyQuery();
+    return nameOrKeyQuery == null
+      || nameOrKeyQuery.equals(component.getDbKey())
+      || (component.name() != null && component.name().toUpperCase(Locale.ENGLISH).contains(nameOrKeyQuery.toUpperCase(Locale.ENGLISH)));
+  }
+
   /**
    * Conditions for best value measure:
    * <ul>
@@ -560,6 +605,12 @@ public class ComponentTreeAction implements MeasuresWsAction {
       .collect(MoreCollectors.toList(components.size()));
   }
 
+  private static boolean areMeasuresRequiredToSortOrFilter(ComponentTreeRequest wsRequest) {
+    List<String> sorts = wsRequest.getSort();
+    return componentWithMeasuresOnly(wsRequest)
+      || (sorts != null && (sorts.contains(METRIC_SORT) || sorts.contains(METRIC_PERIOD_SORT)));
+  }
+
   private static boolean componentWithMeasuresOnly(ComponentTreeRequest wsRequest) {
     return WITH_MEASURES_ONLY_METRIC_SORT_FILTER.equals(wsRequest.getMetricSortFilter());
   }
@@ -25,13 +25,18 @@ import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Multimap;
 import java.io.IOException;
 import java.io.InvalidClassException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.sonar.api.notifications.Notification;
 import org.sonar.api.notifications.NotificationChannel;
@@ -57,6 +62,12 @@ public class DefaultNotificationManager implements NotificationManager {
 
   private boolean alreadyLoggedDeserializationIssue = false;
 
+  /**
+   * Recipients already found for the batch of notifications being delivered by the current thread,
+   * see {@link #startGroupingRecipients()}
+   */
+  private final ThreadLocal<Map<RecipientsKey, Multimap<String, NotificationChannel>>> recipientsOfBatch = new ThreadLocal<>();
+
   /**
    * Default constructor used by Pico
    */
@@ -75,24 +86,54 @@ public class DefaultNotificationManager implements NotificationManager {
     dbClient.notificationQueueDao().insert(singletonList(dto));
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void scheduleForSending(Collection<Notification> notifications) {
+    if (notifications.isEmpty()) {
+      return;
+    }
+    List<NotificationQueueDto> dtos = notifications.stream()
+      .map(NotificationQueueDto::toNotificationQueueDto)
+      .collect(Collectors.toList());
+    dbClient.notificationQueueDao().insert(dtos);
+  }
+
   /**
    * Give the notification queue so that it can be processed
    */
+  @CheckForNull
   public Notification getFromQueue() {
-    int batchSize = 1;
-    List<NotificationQueueDto> notificationDtos = dbClient.notificationQueueDao().selectOldest(batchSize);
+    List<Notification> notifications = getFromQueue(1);
+    return notifications.isEmpty() ? null : notifications.get(0);
+  }
+
+  /**
+   * Remove at most {@code count} notifications from the queue, oldest first, so that they can be processed.
+   * Notifications which can't be deserialized are dropped.
+   */
+  public List<Notification> getFromQueue(int count) {
+    List<NotificationQueueDto> notificationDtos = dbClient.notificationQueueDao().selectOldest(count);
     if (notificationDtos.isEmpty()) {
-      return null;
+      return Collections.emptyList();
     }
     dbClient.notificationQueueDao().delete(notificationDtos);
 
-    return convertToNotification(notificationDtos);
+    List<Notification> notifications = new ArrayList<>(notificationDtos.size());
+    for (NotificationQueueDto notificationDto : notificationDtos) {
+      Notification notification = convertToNotification(notificationDto);
+      if (notification != null) {
+        notifications.add(notification);
+      }
+    }
+    return notifications;
   }
 
-  private Notification convertToNotification(List<NotificationQueueDto> notifications) {
+  @CheckForNull
+  private Notification convertToNotification(NotificationQueueDto notification) {
     try {
-      // If batchSize is increased then we should return a list instead of a single element
-      return notifications.get(0).toNotification();
+      return notification.toNotification();
     } catch (InvalidClassException e) {
       // SONAR-4739
       if (!alreadyLoggedDeserializationIssue) {
@@ -114,6 +155,20 @@ public class DefaultNotificationManager implements NotificationManager {
     return dbClient.notificationQueueDao().count();
   }
 
+  /**
+   * Until {@link #stopGroupingRecipients()} is called by the same thread, the recipients of a dispatcher on a project are
+   * looked up in DB only once, whatever the number of notifications of the batch which are dispatched to them.
+   * Changes of subscriptions and permissions made meanwhile are ignored, so the calling thread must deliver only
+   * a small batch of notifications.
+   */
+  public void startGroupingRecipients() {
+    recipientsOfBatch.set(new HashMap<>());
+  }
+
+  public void stopGroupingRecipients() {
+    recipientsOfBatch.remove();
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -123,6 +178,16 @@ public class DefaultNotificationManager implements NotificationManager {
     requireNonNull(projectKey, "projectKey is mandatory");
     String dispatcherKey = dispatcher.getKey();
 
+    Map<RecipientsKey, Multimap<String, NotificationChannel>> batchRecipients = recipientsOfBatch.get();
+    if (batchRecipients == null) {
+      return findSubscribedRecipients(dispatcherKey, projectKey, subscriberPermissionsOnProject);
+    }
+    return batchRecipients.computeIfAbsent(new RecipientsKey(dispatcherKey, projectKey, subscriberPermissionsOnProject),
+      k -> findSubscribedRecipients(dispatcherKey, projectKey, subscriberPermissionsOnProject));
+  }
+
+  private Multimap<String, NotificationChannel> findSubscribedRecipients(String dispatcherKey, String projectKey,
+    SubscriberPermissionsOnProject subscriberPermissionsOnProject) {
     Set<SubscriberAndChannel> subscriberAndChannels = Arrays.stream(notificationChannels)
       .flatMap(notificationChannel -> toSubscriberAndChannels(dispatcherKey, projectKey, notificationChannel))
       .collect(Collectors.toSet());
@@ -209,6 +274,37 @@ public class DefaultNotificationManager implements NotificationManager {
     }
   }
 
+  private static final class RecipientsKey {
+    private final String dispatcherKey;
+    private final String projectKey;
+    private final SubscriberPermissionsOnProject subscriberPermissionsOnProject;
+
+    private RecipientsKey(String dispatcherKey, String projectKey, SubscriberPermissionsOnProject subscriberPermissionsOnProject) {
+      this.dispatcherKey = dispatcherKey;
+      this.projectKey = projectKey;
+      this.subscriberPermissionsOnProject = subscriberPermissionsOnProject;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      RecipientsKey that = (RecipientsKey) o;
+      return dispatcherKey.equals(that.dispatcherKey)
+        && projectKey.equals(that.projectKey)
+        && subscriberPermissionsOnProject.equals(that.subscriberPermissionsOnProject);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(dispatcherKey, projectKey, subscriberPermissionsOnProject);
+    }
+  }
+
   @VisibleForTesting
   protected List<NotificationChannel> getChannels() {
     return Arrays.asList(notificationChannels);
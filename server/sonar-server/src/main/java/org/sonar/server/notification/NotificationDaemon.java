@@ -21,6 +21,7 @@ package org.sonar.server.notification;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -48,6 +49,9 @@ import org.sonar.api.utils.log.Loggers;
 @ServerSide
 public class NotificationDaemon implements Startable {
   private static final String THREAD_NAME_PREFIX = "sq-notification-service-";
+  // notifications are removed from the queue before being delivered, so the batch is kept small: the notifications
+  // of a batch which are not delivered yet are lost if the server stops or crashes
+  private static final int BATCH_SIZE = 10;
 
   private static final Logger LOG = Loggers.get(NotificationDaemon.class);
 
@@ -104,21 +108,40 @@ public class NotificationDaemon implements Startable {
     long lastLog = start;
     long notifSentCount = 0;
 
-    Notification notifToSend = manager.getFromQueue();
-    while (notifToSend != null) {
-      service.deliver(notifToSend);
-      notifSentCount++;
+    // notifications are dequeued by batches to save DB round-trips
+    List<Notification> notifsToSend = manager.getFromQueue(BATCH_SIZE);
+    while (!notifsToSend.isEmpty()) {
+      // notifications of a batch often concern the same projects, their recipients are looked up only once
+      manager.startGroupingRecipients();
+      try {
+        for (Notification notifToSend : notifsToSend) {
+          deliver(notifToSend);
+          notifSentCount++;
+          long now = now();
+          if (now - lastLog > delayBeforeReportingStatusInSeconds * 1000) {
+            long remainingNotifCount = manager.count();
+            lastLog = now;
+            long spentTimeInMinutes = (now - start) / (60 * 1000);
+            log(notifSentCount, remainingNotifCount, spentTimeInMinutes);
+          }
+        }
+      } finally {
+        manager.stopGroupingRecipients();
+      }
       if (stopping) {
+        // remaining notifications of the queue are delivered at next startup
         break;
       }
-      long now = now();
-      if (now - lastLog > delayBeforeReportingStatusInSeconds * 1000) {
-        long remainingNotifCount = manager.count();
-        lastLog = now;
-        long spentTimeInMinutes = (now - start) / (60 * 1000);
-        log(notifSentCount, remainingNotifCount, spentTimeInMinutes);
-      }
-      notifToSend = manager.getFromQueue();
+      notifsToSend = manager.getFromQueue(BATCH_SIZE);
+    }
+  }
+
+  private void deliver(Notification notification) {
+    try {
+      service.deliver(notification);
+    } catch (RuntimeException e) {
+      // notification is already removed from queue, go on with the other notifications of the batch
+      LOG.error("Fail to deliver notification " + notification, e);
     }
   }
 
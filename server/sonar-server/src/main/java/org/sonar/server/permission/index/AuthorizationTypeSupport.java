@@ -20,6 +20,7 @@
 package org.sonar.server.permission.index;
 
 import com.google.common.collect.ImmutableMap;
+import java.util.List;
 import java.util.Optional;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
@@ -27,6 +28,7 @@ import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.join.query.JoinQueryBuilders;
 import org.sonar.api.ce.ComputeEngineSide;
 import org.sonar.api.server.ServerSide;
+import org.sonar.core.util.stream.MoreCollectors;
 import org.sonar.db.user.GroupDto;
 import org.sonar.server.es.IndexType;
 import org.sonar.server.es.NewIndex;
@@ -36,6 +38,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 import static org.elasticsearch.index.query.QueryBuilders.boolQuery;
 import static org.elasticsearch.index.query.QueryBuilders.termQuery;
+import static org.elasticsearch.index.query.QueryBuilders.termsQuery;
 
 @ServerSide
 @ComputeEngineSide
@@ -112,11 +115,14 @@ public class AuthorizationTypeSupport {
       .map(Integer::longValue)
       .ifPresent(id -> filter.should(termQuery(FIELD_USER_IDS, id)));
 
-    // groups
-    userSession.getGroups()
+    // groups, in a single clause as users can belong to many groups
+    List<Integer> groupIds = userSession.getGroups()
       .stream()
       .map(GroupDto::getId)
-      .forEach(groupId -> filter.should(termQuery(FIELD_GROUP_IDS, groupId)));
+      .collect(MoreCollectors.toList());
+    if (!groupIds.isEmpty()) {
+      filter.should(termsQuery(FIELD_GROUP_IDS, groupIds));
+    }
 
     return JoinQueryBuilders.hasParentQuery(
       TYPE_AUTHORIZATION,
@@ -0,0 +1,72 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2018 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.platform;
+
+import java.lang.reflect.Member;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.picocontainer.ComponentAdapter;
+import org.picocontainer.PicoContainer;
+import org.picocontainer.monitors.NullComponentMonitor;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+
+import static org.sonar.core.util.stream.MoreCollectors.toList;
+
+/**
+ * Records how long the {@code start()} method of each component of the web server containers takes.
+ * Instance is registered as the monitor of the root container, so that components of all platform levels,
+ * including startup tasks, are recorded.
+ */
+public class ComponentStartupTimes extends NullComponentMonitor {
+
+  private static final Logger LOG = Loggers.get(ComponentStartupTimes.class);
+  private static final String START_METHOD = "start";
+
+  private final Map<String, Long> durationsByComponent = new ConcurrentHashMap<>();
+
+  @Override
+  public void invoked(PicoContainer container, ComponentAdapter<?> componentAdapter, Member member, Object instance, long duration, Object[] args,
+    Object retVal) {
+    if (instance != null && START_METHOD.equals(member.getName())) {
+      String componentName = instance.getClass().getName();
+      durationsByComponent.put(componentName, duration);
+      LOG.trace("{} started in {}ms", componentName, duration);
+    }
+  }
+
+  /**
+   * The durations in milliseconds of the start of the {@code limit} slowest components, slowest first.
+   */
+  public List<Map.Entry<String, Long>> getSlowest(int limit) {
+    return durationsByComponent.entrySet().stream()
+      .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()))
+      .limit(limit)
+      .collect(toList());
+  }
+
+  public void log(int limit) {
+    if (LOG.isDebugEnabled()) {
+      getSlowest(limit).forEach(e -> LOG.debug("Startup of {} took {}ms", e.getKey(), e.getValue()));
+    }
+  }
+}
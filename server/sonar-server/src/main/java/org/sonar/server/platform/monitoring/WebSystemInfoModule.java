@@ -51,7 +51,9 @@ public class WebSystemInfoModule {
       LoggingSection.class,
       PluginsSection.class,
       SettingsSection.class,
+      SourceDataCacheSection.class,
       StandaloneSystemSection.class,
+      WebStartupSection.class,
 
       OfficialDistribution.class,
       StandaloneSystemInfoWriter.class,
@@ -73,6 +75,8 @@ public class WebSystemInfoModule {
       NodeSystemSection.class,
       PluginsSection.class,
       SettingsSection.class,
+      SourceDataCacheSection.class,
+      WebStartupSection.class,
 
       OfficialDistribution.class,
 
@@ -30,6 +30,7 @@ import org.sonar.api.utils.System2;
 import org.sonar.api.utils.Version;
 import org.sonar.api.utils.internal.TempFolderCleaner;
 import org.sonar.core.config.CorePropertyDefinitions;
+import org.sonar.core.platform.ComponentContainer;
 import org.sonar.core.util.UuidFactoryImpl;
 import org.sonar.db.DBSessionsImpl;
 import org.sonar.db.DaoModule;
@@ -46,6 +47,7 @@ import org.sonar.server.app.WebServerProcessLogging;
 import org.sonar.server.config.ConfigurationProvider;
 import org.sonar.server.es.EsModule;
 import org.sonar.server.issue.index.IssueIndex;
+import org.sonar.server.platform.ComponentStartupTimes;
 import org.sonar.server.platform.LogServerVersion;
 import org.sonar.server.platform.Platform;
 import org.sonar.server.platform.ServerFileSystemImpl;
@@ -72,6 +74,17 @@ public class PlatformLevel1 extends PlatformLevel {
     this.extraRootComponents = extraRootComponents;
   }
 
+  /**
+   * Root container records the duration of the start of the components of all levels
+   */
+  @Override
+  protected ComponentContainer createContainer(@Nullable ComponentContainer parent) {
+    ComponentStartupTimes startupTimes = new ComponentStartupTimes();
+    ComponentContainer container = new ComponentContainer(startupTimes);
+    container.addSingleton(startupTimes);
+    return container;
+  }
+
   @Override
   public void configureLevel() {
     add(platform, properties);
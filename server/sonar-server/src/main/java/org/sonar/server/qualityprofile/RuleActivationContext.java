@@ -25,8 +25,10 @@ import com.google.common.collect.Maps;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
@@ -63,6 +65,8 @@ class RuleActivationContext {
   private final Map<String, QProfileDto> profilesByUuid = new HashMap<>();
   private final ListMultimap<String, QProfileDto> profilesByParentUuid = ArrayListMultimap.create();
   private final List<QProfileDto> builtInAliases = new ArrayList<>();
+  // uuids of the profiles whose dates have already been updated with the date of this context
+  private final Set<String> updatedProfileUuids = new HashSet<>();
 
   // the rules
   private final Map<Integer, RuleWrapper> rulesById;
@@ -116,6 +120,16 @@ class RuleActivationContext {
     return date;
   }
 
+  /**
+   * Dates of a profile are set to the date of the context, so they need to be persisted only once per profile,
+   * whatever the number of rules activated or deactivated in it.
+   *
+   * @return {@code false} if the dates of the profile have already been updated
+   */
+  boolean markDatesAsUpdated(String profileUuid) {
+    return updatedProfileUuids.add(profileUuid);
+  }
+
   RuleWrapper getRule() {
     return currentRule;
   }
@@ -143,6 +143,9 @@ public class RuleActivator {
   private void updateProfileDates(DbSession dbSession, RuleActivationContext context) {
     QProfileDto profile = context.getProfile();
     if (profile != null) {
+      if (!context.markDatesAsUpdated(profile.getKee())) {
+        return;
+      }
       profile.setRulesUpdatedAtAsDate(new Date(context.getDate()));
       if (userSession.isLoggedIn()) {
         profile.setUserUpdatedAt(context.getDate());
@@ -152,6 +155,9 @@ public class RuleActivator {
     } else {
       // built-in profile, change rules_profiles.rules_updated_at
       RulesProfileDto rulesProfile = context.getRulesProfile();
+      if (!context.markDatesAsUpdated(rulesProfile.getKee())) {
+        return;
+      }
       rulesProfile.setRulesUpdatedAtAsDate(new Date(context.getDate()));
       db.qualityProfileDao().update(dbSession, rulesProfile);
     }
@@ -74,6 +74,7 @@ import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.difference;
 import static com.google.common.collect.Sets.intersection;
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
 import static org.sonar.core.util.stream.MoreCollectors.toList;
 import static org.sonar.core.util.stream.MoreCollectors.toSet;
@@ -167,7 +168,14 @@ public class RegisterRules implements Startable {
       .stream()
       .collect(uniqueIndex(RuleDefinitionDto::getKey));
     Map<Integer, Set<SingleDeprecatedRuleKey>> existingDeprecatedKeysById = loadDeprecatedRuleKeys(dbSession);
-    return new RegisterRulesContext(allRules, existingDeprecatedKeysById);
+    Map<Integer, List<RuleParamDto>> existingParamsByRuleId = loadRuleParams(dbSession);
+    return new RegisterRulesContext(allRules, existingDeprecatedKeysById, existingParamsByRuleId);
+  }
+
+  private Map<Integer, List<RuleParamDto>> loadRuleParams(DbSession dbSession) {
+    return dbClient.ruleDao().selectAllRuleParams(dbSession)
+      .stream()
+      .collect(Collectors.groupingBy(RuleParamDto::getRuleId));
   }
 
   private Map<Integer, Set<SingleDeprecatedRuleKey>> loadDeprecatedRuleKeys(DbSession dbSession) {
@@ -199,6 +207,7 @@ public class RegisterRules implements Startable {
     private final Set<RuleDefinitionDto> known;
     private final Map<Integer, Set<SingleDeprecatedRuleKey>> dbDeprecatedKeysById;
     private final Map<RuleKey, RuleDefinitionDto> dbRulesByDbDeprecatedKey;
+    private final Map<Integer, List<RuleParamDto>> dbParamsByRuleId;
     // mutable data
     private final Set<RuleDefinitionDto> created = new HashSet<>();
     private final Map<RuleDefinitionDto, RuleKey> renamed = new HashMap<>();
@@ -206,11 +215,13 @@ public class RegisterRules implements Startable {
     private final Set<RuleDefinitionDto> unchanged = new HashSet<>();
     private final Set<RuleDefinitionDto> removed = new HashSet<>();
 
-    private RegisterRulesContext(Map<RuleKey, RuleDefinitionDto> dbRules, Map<Integer, Set<SingleDeprecatedRuleKey>> dbDeprecatedKeysById) {
+    private RegisterRulesContext(Map<RuleKey, RuleDefinitionDto> dbRules, Map<Integer, Set<SingleDeprecatedRuleKey>> dbDeprecatedKeysById,
+      Map<Integer, List<RuleParamDto>> dbParamsByRuleId) {
       this.dbRules = ImmutableMap.copyOf(dbRules);
       this.known = ImmutableSet.copyOf(dbRules.values());
       this.dbDeprecatedKeysById = dbDeprecatedKeysById;
       this.dbRulesByDbDeprecatedKey = buildDbRulesByDbDeprecatedKey(dbDeprecatedKeysById, dbRules);
+      this.dbParamsByRuleId = dbParamsByRuleId;
     }
 
     private static Map<RuleKey, RuleDefinitionDto> buildDbRulesByDbDeprecatedKey(Map<Integer, Set<SingleDeprecatedRuleKey>> dbDeprecatedKeysById,
@@ -256,6 +267,10 @@ public class RegisterRules implements Startable {
       return dbDeprecatedKeysById.getOrDefault(rule.getId(), emptySet());
     }
 
+    private List<RuleParamDto> getDBParamsFor(RuleDefinitionDto rule) {
+      return dbParamsByRuleId.getOrDefault(rule.getId(), emptyList());
+    }
+
     private Stream<RuleDefinitionDto> getRemaining() {
       Set<RuleDefinitionDto> res = new HashSet<>(dbRules.values());
       res.removeAll(unchanged);
@@ -374,7 +389,7 @@ public class RegisterRules implements Startable {
       context.unchanged(ruleDefinitionDto);
     }
 
-    mergeParams(ruleDef, ruleDefinitionDto, session);
+    mergeParams(context, ruleDef, ruleDefinitionDto, session);
     updateDeprecatedKeys(context, ruleDef, ruleDefinitionDto, session);
   }
 
@@ -525,8 +540,8 @@ public class RegisterRules implements Startable {
     return changed;
   }
 
-  private void mergeParams(RulesDefinition.Rule ruleDef, RuleDefinitionDto rule, DbSession session) {
-    List<RuleParamDto> paramDtos = dbClient.ruleDao().selectRuleParamsByRuleKey(session, rule.getKey());
+  private void mergeParams(RegisterRulesContext context, RulesDefinition.Rule ruleDef, RuleDefinitionDto rule, DbSession session) {
+    List<RuleParamDto> paramDtos = context.getDBParamsFor(rule);
     Map<String, RuleParamDto> existingParamsByName = Maps.newHashMap();
 
     Profiler profiler = Profiler.create(Loggers.get(getClass()));
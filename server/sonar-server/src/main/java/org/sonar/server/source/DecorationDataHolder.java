@@ -20,9 +20,8 @@
 package org.sonar.server.source;
 
 import com.google.common.collect.Lists;
-
 import java.util.Arrays;
-import java.util.Iterator;
+import java.util.Comparator;
 import java.util.List;
 
 class DecorationDataHolder {
@@ -31,6 +30,7 @@ class DecorationDataHolder {
   private static final String FIELD_SEPARATOR = ",";
   private static final String SYMBOL_PREFIX = "sym-";
   private static final String HIGHLIGHTABLE = "sym";
+  private static final Comparator<OpeningHtmlTag> BY_START_OFFSET = Comparator.comparingInt(OpeningHtmlTag::getStartOffset);
 
   private List<OpeningHtmlTag> openingTagsEntries;
   private int openingTagsIndex;
@@ -52,6 +52,7 @@ class DecorationDataHolder {
       String[] symbolOccurrences = Arrays.copyOfRange(symbolFields, 2, symbolFields.length);
       loadSymbolOccurrences(declarationStartOffset, symbolLength, symbolOccurrences);
     }
+    sortTags();
   }
 
   void loadLineSymbolReferences(String symbolsReferences) {
@@ -62,8 +63,9 @@ class DecorationDataHolder {
       int endOffset = Integer.parseInt(symbolFields[1]);
       int symbolLength = endOffset - startOffset;
       int symbolId = Integer.parseInt(symbolFields[2]);
-      loadSymbolOccurrences(symbolId, symbolLength, new String[] { Integer.toString(startOffset) });
+      loadSymbolOccurrence(symbolId, symbolLength, startOffset);
     }
+    sortTags();
   }
 
 
@@ -74,10 +76,11 @@ class DecorationDataHolder {
       int startOffset = Integer.parseInt(ruleFields[0]);
       int endOffset = Integer.parseInt(ruleFields[1]);
       if (startOffset < endOffset) {
-        insertAndPreserveOrder(new OpeningHtmlTag(startOffset, ruleFields[2]), openingTagsEntries);
-        insertAndPreserveOrder(endOffset, closingTagsOffsets);
+        openingTagsEntries.add(new OpeningHtmlTag(startOffset, ruleFields[2]));
+        closingTagsOffsets.add(endOffset);
       }
     }
+    sortTags();
   }
 
   List<OpeningHtmlTag> getOpeningTagsEntries() {
@@ -105,29 +108,30 @@ class DecorationDataHolder {
   }
 
   private void loadSymbolOccurrences(int declarationStartOffset, int symbolLength, String[] symbolOccurrences) {
+    String cssClass = symbolCssClass(declarationStartOffset);
     for (String symbolOccurrence : symbolOccurrences) {
       int occurrenceStartOffset = Integer.parseInt(symbolOccurrence);
-      int occurrenceEndOffset = occurrenceStartOffset + symbolLength;
-      insertAndPreserveOrder(new OpeningHtmlTag(occurrenceStartOffset, SYMBOL_PREFIX + declarationStartOffset + " " + HIGHLIGHTABLE), openingTagsEntries);
-      insertAndPreserveOrder(occurrenceEndOffset, closingTagsOffsets);
+      openingTagsEntries.add(new OpeningHtmlTag(occurrenceStartOffset, cssClass));
+      closingTagsOffsets.add(occurrenceStartOffset + symbolLength);
     }
   }
 
-  private void insertAndPreserveOrder(OpeningHtmlTag newEntry, List<OpeningHtmlTag> openingHtmlTags) {
-    int insertionIndex = 0;
-    Iterator<OpeningHtmlTag> tagIterator = openingHtmlTags.iterator();
-    while (tagIterator.hasNext() && tagIterator.next().getStartOffset() <= newEntry.getStartOffset()) {
-      insertionIndex++;
-    }
-    openingHtmlTags.add(insertionIndex, newEntry);
+  private void loadSymbolOccurrence(int declarationStartOffset, int symbolLength, int occurrenceStartOffset) {
+    openingTagsEntries.add(new OpeningHtmlTag(occurrenceStartOffset, symbolCssClass(declarationStartOffset)));
+    closingTagsOffsets.add(occurrenceStartOffset + symbolLength);
   }
 
-  private void insertAndPreserveOrder(int newOffset, List<Integer> orderedOffsets) {
-    int insertionIndex = 0;
-    Iterator<Integer> entriesIterator = orderedOffsets.iterator();
-    while (entriesIterator.hasNext() && entriesIterator.next() <= newOffset) {
-      insertionIndex++;
-    }
-    orderedOffsets.add(insertionIndex, newOffset);
+  private static String symbolCssClass(int declarationStartOffset) {
+    return SYMBOL_PREFIX + declarationStartOffset + " " + HIGHLIGHTABLE;
+  }
+
+  /**
+   * Tags are appended while loading, then sorted by offset in a single pass. Sort is stable, so tags opened at the
+   * same offset keep their loading order, as if each of them had been inserted after the existing tags with the
+   * same offset.
+   */
+  private void sortTags() {
+    openingTagsEntries.sort(BY_START_OFFSET);
+    closingTagsOffsets.sort(Comparator.naturalOrder());
   }
 }
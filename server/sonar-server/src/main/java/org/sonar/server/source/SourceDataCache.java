@@ -0,0 +1,138 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2018 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.source;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Objects;
+import java.util.Optional;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.sonar.db.DbClient;
+import org.sonar.db.DbSession;
+import org.sonar.db.protobuf.DbFileSources;
+import org.sonar.db.source.FileSourceDto;
+
+/**
+ * In-memory cache of the decompressed and parsed sources of files, shared by all web service requests.
+ * Entries are keyed by the hash of the data stored in DB, so that sources updated by an analysis are never
+ * served stale. Entries of previous versions of a file are no longer requested and are the first to be evicted.
+ * <p>
+ * Cache is bounded by an estimate of the heap used by the parsed sources, see {@link #estimateHeapSize(DbFileSources.Data)}.
+ */
+public class SourceDataCache {
+
+  static final long DEFAULT_MAX_HEAP_SIZE_IN_BYTES = 50L * 1024 * 1024;
+
+  /**
+   * Estimate of the heap used by a parsed {@link DbFileSources.Line} in addition to the content of its strings:
+   * the message itself, and the wrapper and array of each of its string fields.
+   */
+  private static final int LINE_OVERHEAD_IN_BYTES = 400;
+
+  private final DbClient dbClient;
+  private final Cache<CacheKey, DbFileSources.Data> cache;
+
+  public SourceDataCache(DbClient dbClient) {
+    this(dbClient, DEFAULT_MAX_HEAP_SIZE_IN_BYTES);
+  }
+
+  SourceDataCache(DbClient dbClient, long maxHeapSizeInBytes) {
+    this.dbClient = dbClient;
+    this.cache = CacheBuilder.newBuilder()
+      .maximumWeight(maxHeapSizeInBytes)
+      .weigher((CacheKey key, DbFileSources.Data value) -> estimateHeapSize(value))
+      .recordStats()
+      .build();
+  }
+
+  /**
+   * Source data of specified file, or {@link Optional#empty()} if file has no source.
+   */
+  public Optional<DbFileSources.Data> get(DbSession dbSession, String fileUuid) {
+    String dataHash = dbClient.fileSourceDao().selectSourceDataHash(dbSession, fileUuid);
+    DbFileSources.Data cached = cache.getIfPresent(new CacheKey(fileUuid, dataHash));
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    FileSourceDto dto = dbClient.fileSourceDao().selectSourceByFileUuid(dbSession, fileUuid);
+    if (dto == null) {
+      return Optional.empty();
+    }
+    DbFileSources.Data data = dto.getSourceData();
+    if (dto.getDataHash() != null) {
+      cache.put(new CacheKey(fileUuid, dto.getDataHash()), data);
+    }
+    return Optional.of(data);
+  }
+
+  /**
+   * The serialized size of sources underestimates the heap they use once parsed: characters are stored
+   * on two bytes by {@link String} and each line is an object referencing an object per field.
+   */
+  static int estimateHeapSize(DbFileSources.Data data) {
+    long size = 2L * data.getSerializedSize() + (long) LINE_OVERHEAD_IN_BYTES * data.getLinesCount();
+    return (int) Math.min(size, Integer.MAX_VALUE);
+  }
+
+  public long getHitCount() {
+    return cache.stats().hitCount();
+  }
+
+  public long getMissCount() {
+    return cache.stats().missCount();
+  }
+
+  public long getEvictionCount() {
+    return cache.stats().evictionCount();
+  }
+
+  public long getSize() {
+    return cache.size();
+  }
+
+  private static class CacheKey {
+    private final String fileUuid;
+    @CheckForNull
+    private final String dataHash;
+
+    private CacheKey(String fileUuid, @Nullable String dataHash) {
+      this.fileUuid = fileUuid;
+      this.dataHash = dataHash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      CacheKey that = (CacheKey) o;
+      return fileUuid.equals(that.fileUuid) && Objects.equals(dataHash, that.dataHash);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(fileUuid, dataHash);
+    }
+  }
+}
@@ -22,21 +22,19 @@ package org.sonar.server.source;
 import java.util.Optional;
 import java.util.function.Function;
 import org.sonar.core.util.stream.MoreCollectors;
-import org.sonar.db.DbClient;
 import org.sonar.db.DbSession;
 import org.sonar.db.protobuf.DbFileSources;
-import org.sonar.db.source.FileSourceDto;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
 public class SourceService {
 
-  private final DbClient dbClient;
+  private final SourceDataCache sourceDataCache;
   private final HtmlSourceDecorator htmlDecorator;
   private final Function<DbFileSources.Line, String> lineToHtml;
 
-  public SourceService(DbClient dbClient, HtmlSourceDecorator htmlDecorator) {
-    this.dbClient = dbClient;
+  public SourceService(SourceDataCache sourceDataCache, HtmlSourceDecorator htmlDecorator) {
+    this.sourceDataCache = sourceDataCache;
     this.htmlDecorator = htmlDecorator;
     this.lineToHtml = lineToHtml();
   }
@@ -65,11 +63,11 @@ public class SourceService {
   private <E> Optional<Iterable<E>> getLines(DbSession dbSession, String fileUuid, int from, int toInclusive, Function<DbFileSources.Line, E> function) {
     verifyLine(from);
     checkArgument(toInclusive >= from, String.format("Line number must greater than or equal to %d, got %d", from, toInclusive));
-    FileSourceDto dto = dbClient.fileSourceDao().selectSourceByFileUuid(dbSession, fileUuid);
-    if (dto == null) {
+    Optional<DbFileSources.Data> data = sourceDataCache.get(dbSession, fileUuid);
+    if (!data.isPresent()) {
       return Optional.empty();
     }
-    return Optional.of(dto.getSourceData().getLinesList().stream()
+    return Optional.of(data.get().getLinesList().stream()
       .filter(line -> line.hasLine() && line.getLine() >= from)
       .limit((toInclusive - from) + 1L)
       .map(function)
@@ -31,7 +31,6 @@ import org.sonar.db.DbSession;
 import org.sonar.db.component.ComponentDto;
 import org.sonar.db.webhook.WebhookDao;
 import org.sonar.db.webhook.WebhookDto;
-import org.sonar.server.async.AsyncExecution;
 
 import static java.util.Optional.ofNullable;
 import static org.sonar.server.ws.WsUtils.checkStateWithOptional;
@@ -42,13 +41,13 @@ public class WebHooksImpl implements WebHooks {
 
   private final WebhookCaller caller;
   private final WebhookDeliveryStorage deliveryStorage;
-  private final AsyncExecution asyncExecution;
+  private final WebhookExecution webhookExecution;
   private final DbClient dbClient;
 
-  public WebHooksImpl(WebhookCaller caller, WebhookDeliveryStorage deliveryStorage, AsyncExecution asyncExecution, DbClient dbClient) {
+  public WebHooksImpl(WebhookCaller caller, WebhookDeliveryStorage deliveryStorage, WebhookExecution webhookExecution, DbClient dbClient) {
     this.caller = caller;
     this.deliveryStorage = deliveryStorage;
-    this.asyncExecution = asyncExecution;
+    this.webhookExecution = webhookExecution;
     this.dbClient = dbClient;
   }
 
@@ -87,12 +86,12 @@ public class WebHooksImpl implements WebHooks {
     }
 
     WebhookPayload payload = payloadSupplier.get();
-    webhooks.forEach(webhook -> asyncExecution.addToQueue(() -> {
+    webhooks.forEach(webhook -> webhookExecution.addToQueue(() -> {
       WebhookDelivery delivery = caller.call(webhook, payload);
       log(delivery);
       deliveryStorage.persist(delivery);
     }));
-    asyncExecution.addToQueue(() -> deliveryStorage.purge(analysis.getProjectUuid()));
+    webhookExecution.addToQueue(() -> deliveryStorage.purge(analysis.getProjectUuid()));
   }
 
   private static void log(WebhookDelivery delivery) {
@@ -0,0 +1,77 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2018 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.webhook;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.server.util.AbstractStoppableExecutorService;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Calls webhooks in a pool of threads dedicated to them, so that slow endpoints do not delay the other asynchronous
+ * tasks of the web server. The queue of pending calls is bounded: calls are dropped when it is full.
+ */
+public class WebhookExecutionImpl extends AbstractStoppableExecutorService<ThreadPoolExecutor> implements WebhookExecution {
+  private static final Logger LOG = Loggers.get(WebhookExecutionImpl.class);
+
+  private static final int MAX_THREAD_COUNT = 5;
+  static final int MAX_QUEUE_SIZE = 1_000;
+  private static final long KEEP_ALIVE_TIME_IN_MINUTES = 5L;
+
+  public WebhookExecutionImpl() {
+    super(createDelegate());
+  }
+
+  private static ThreadPoolExecutor createDelegate() {
+    ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+      MAX_THREAD_COUNT, MAX_THREAD_COUNT,
+      KEEP_ALIVE_TIME_IN_MINUTES, MINUTES,
+      new LinkedBlockingQueue<>(MAX_QUEUE_SIZE),
+      new ThreadFactoryBuilder()
+        .setDaemon(false)
+        .setNameFormat("SQ_webhooks-%d")
+        .setUncaughtExceptionHandler(((t, e) -> LOG.error("Thread " + t + " failed unexpectedly", e)))
+        .build());
+    threadPoolExecutor.allowCoreThreadTimeOut(true);
+    return threadPoolExecutor;
+  }
+
+  @Override
+  public void addToQueue(Runnable r) {
+    requireNonNull(r);
+    try {
+      delegate.execute(() -> {
+        try {
+          r.run();
+        } catch (Exception e) {
+          LOG.error("Webhook task failed", e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      LOG.warn("Webhook task is dropped, {} webhook tasks are already pending", delegate.getQueue().size());
+    }
+  }
+}
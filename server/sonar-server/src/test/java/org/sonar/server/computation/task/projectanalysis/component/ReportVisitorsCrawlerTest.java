@@ -26,6 +26,7 @@ import org.junit.rules.ExpectedException;
 import org.mockito.InOrder;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
@@ -119,6 +120,28 @@ public class ReportVisitorsCrawlerTest {
     assertThat(underTest.getCumulativeDurations()).hasSize(2);
   }
 
+  @Test
+  public void getVisitCountsByType_returns_number_of_visits_of_each_visitor_by_component_type() {
+    TypeAwareVisitor moduleVisitor = new TestTypeAwareVisitor(CrawlerDepthLimit.MODULE, PRE_ORDER);
+    VisitorsCrawler underTest = new VisitorsCrawler(Arrays.asList(spyPreOrderTypeAwareVisitor, moduleVisitor), true);
+    underTest.visit(COMPONENT_TREE);
+
+    assertThat(underTest.getVisitCountsByType().get(spyPreOrderTypeAwareVisitor))
+      .containsOnly(entry(PROJECT, 1), entry(MODULE, 2), entry(DIRECTORY, 1), entry(FILE, 1));
+    assertThat(underTest.getVisitCountsByType().get(moduleVisitor))
+      .containsOnly(entry(PROJECT, 1), entry(MODULE, 2));
+    assertThat(underTest.getCumulativeDurationsByType().get(moduleVisitor)).containsOnlyKeys(PROJECT, MODULE);
+  }
+
+  @Test
+  public void getVisitCountsByType_returns_an_empty_map_when_computation_is_disabled_in_constructor() {
+    VisitorsCrawler underTest = new VisitorsCrawler(Arrays.asList(spyPreOrderTypeAwareVisitor, spyPostOrderTypeAwareVisitor), false);
+    underTest.visit(COMPONENT_TREE);
+
+    assertThat(underTest.getVisitCountsByType()).isEmpty();
+    assertThat(underTest.getCumulativeDurationsByType()).isEmpty();
+  }
+
   @Test
   public void fail_with_IAE_when_visitor_is_not_path_aware_or_type_aware() {
     thrown.expect(IllegalArgumentException.class);
@@ -137,12 +137,36 @@ public class ExecuteVisitorsStepTest {
       assertThat(logs).hasSize(4);
       assertThat(logs.get(0)).isEqualTo("  Execution time for each component visitor:");
       assertThat(logs.get(1)).startsWith("  - VisitorA | time=");
+      assertThat(logs.get(1)).containsPattern("\\| PROJECT=\\d+ms/1$");
       assertThat(logs.get(2)).startsWith("  - VisitorB | time=");
       assertThat(logs.get(3)).startsWith("  - VisitorC | time=");
 
     }
   }
 
+  @Test
+  public void execute_does_not_fail_when_level_is_changed_to_DEBUG_while_visitors_are_executed() {
+    logTester.setLevel(LoggerLevel.INFO);
+    ExecuteVisitorsStep underStep = new ExecuteVisitorsStep(
+      treeRootHolder,
+      asList(new VisitorA(), new ChangeLogLevelToDebugVisitor(), new VisitorC()));
+
+    underStep.execute();
+
+    assertThat(logTester.logs(LoggerLevel.DEBUG)).isEmpty();
+  }
+
+  private class ChangeLogLevelToDebugVisitor extends TypeAwareVisitorAdapter {
+    ChangeLogLevelToDebugVisitor() {
+      super(CrawlerDepthLimit.PROJECT, Order.PRE_ORDER);
+    }
+
+    @Override
+    public void visitProject(Component project) {
+      logTester.setLevel(LoggerLevel.DEBUG);
+    }
+  }
+
   private static class VisitorA extends TypeAwareVisitorAdapter {
     VisitorA() {
       super(CrawlerDepthLimit.PROJECT, Order.PRE_ORDER);
@@ -156,6 +156,31 @@ public class PersistLiveMeasuresStepTest extends BaseStepTest {
     assertThatMeasureHasValue(measureInOtherProject, (int)measureInOtherProject.getValue().doubleValue());
   }
 
+  @Test
+  public void do_not_update_measures_with_unchanged_values() {
+    prepareProject();
+    LiveMeasureDto unchangedMeasure = new LiveMeasureDto()
+      .setComponentUuid("file-uuid")
+      .setProjectUuid("project-uuid")
+      .setMetricId(metricRepository.getByKey(INT_METRIC.getKey()).getId())
+      .setValue(42.0);
+    dbClient.liveMeasureDao().insert(db.getSession(), unchangedMeasure);
+    LiveMeasureDto changedMeasure = insertMeasure("dir-uuid", "project-uuid", INT_METRIC);
+    db.commit();
+    db.executeUpdateSql("update live_measures set updated_at=1");
+
+    measureRepository.addRawMeasure(REF_4, INT_METRIC.getKey(), newMeasureBuilder().create(42));
+    measureRepository.addRawMeasure(REF_3, INT_METRIC.getKey(), newMeasureBuilder().create(43));
+
+    step().execute();
+
+    assertThatMeasureHasValue(unchangedMeasure, 42);
+    assertThatMeasureHasValue(changedMeasure, 43);
+    assertThat(db.select("select component_uuid as \"uuid\" from live_measures where updated_at=1"))
+      .extracting(row -> row.get("uuid"))
+      .containsExactly("file-uuid");
+  }
+
   @Test
   public void do_not_persist_file_measures_with_best_value() {
     prepareProject();
@@ -19,6 +19,8 @@
  */
 package org.sonar.server.computation.task.projectanalysis.step;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -269,6 +271,38 @@ public class ReportComputeMeasureVariationsStepTest {
     assertThat(measureRepository.getRawMeasure(PROJECT, NEW_DEBT).get().getVariation()).isEqualTo(10d);
   }
 
+  @Test
+  public void set_variation_on_components_of_several_partitions() {
+    SnapshotDto period1Snapshot = newAnalysis(project);
+    dbClient.snapshotDao().insert(session, period1Snapshot);
+    dbClient.measureDao().insert(session, newMeasureDto(ISSUES_METRIC.getId(), PROJECT_UUID, period1Snapshot.getUuid(), 60d));
+    dbClient.measureDao().insert(session, newMeasureDto(ISSUES_METRIC.getId(), "DIR_0", period1Snapshot.getUuid(), 10d));
+    String lastDirectoryUuid = "DIR_" + ComputeMeasureVariationsStep.PARTITION_SIZE;
+    dbClient.measureDao().insert(session, newMeasureDto(ISSUES_METRIC.getId(), lastDirectoryUuid, period1Snapshot.getUuid(), 5d));
+    session.commit();
+    periodsHolder.setPeriod(newPeriod(period1Snapshot));
+
+    // project and directories do not fit in a single partition
+    List<Component> directories = new ArrayList<>();
+    for (int i = 0; i <= ComputeMeasureVariationsStep.PARTITION_SIZE; i++) {
+      directories.add(ReportComponent.builder(Component.Type.DIRECTORY, i + 2).setUuid("DIR_" + i).build());
+    }
+    Component project = ReportComponent.builder(Component.Type.PROJECT, 1).setUuid(PROJECT_UUID).addChildren(directories.toArray(new Component[0])).build();
+    treeRootHolder.setRoot(project);
+    Component firstDirectory = directories.get(0);
+    Component lastDirectory = directories.get(directories.size() - 1);
+
+    addRawMeasure(project, ISSUES_METRIC, newMeasureBuilder().create(80, null));
+    addRawMeasure(firstDirectory, ISSUES_METRIC, newMeasureBuilder().create(20, null));
+    addRawMeasure(lastDirectory, ISSUES_METRIC, newMeasureBuilder().create(15, null));
+
+    underTest.execute();
+
+    assertThat(measureRepository.getRawMeasure(project, ISSUES_METRIC).get().getVariation()).isEqualTo(20d);
+    assertThat(measureRepository.getRawMeasure(firstDirectory, ISSUES_METRIC).get().getVariation()).isEqualTo(10d);
+    assertThat(measureRepository.getRawMeasure(lastDirectory, ISSUES_METRIC).get().getVariation()).isEqualTo(10d);
+  }
+
   private static MeasureDto newMeasureDto(int metricId, String componentUuid, String analysisUuid, double value) {
     return new MeasureDto()
       .setMetricId(metricId)
@@ -21,6 +21,7 @@ package org.sonar.server.computation.task.step;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -45,6 +46,7 @@ public class ComputationStepExecutorTest {
   @Rule
   public ExpectedException expectedException = ExpectedException.none();
 
+  private final ComputationStepStatistics statistics = new ComputationStepStatistics();
   private final ComputationStepExecutor.Listener listener = mock(ComputationStepExecutor.Listener.class);
   private final ComputationStep computationStep1 = mockComputationStep("step1");
   private final ComputationStep computationStep2 = mockComputationStep("step2");
@@ -52,7 +54,7 @@ public class ComputationStepExecutorTest {
 
   @Test
   public void execute_call_execute_on_each_ComputationStep_in_order_returned_by_instances_method() {
-    new ComputationStepExecutor(mockComputationSteps(computationStep1, computationStep2, computationStep3))
+    new ComputationStepExecutor(mockComputationSteps(computationStep1, computationStep2, computationStep3), statistics)
       .execute();
 
     InOrder inOrder = inOrder(computationStep1, computationStep2, computationStep3);
@@ -74,7 +76,7 @@ public class ComputationStepExecutorTest {
       .when(computationStep)
       .execute();
 
-    ComputationStepExecutor computationStepExecutor = new ComputationStepExecutor(mockComputationSteps(computationStep));
+    ComputationStepExecutor computationStepExecutor = new ComputationStepExecutor(mockComputationSteps(computationStep), statistics);
 
     expectedException.expect(RuntimeException.class);
     expectedException.expectMessage(message);
@@ -96,6 +98,14 @@ public class ComputationStepExecutorTest {
     assertThat(infoLogs.get(1)).contains("step2 | time=");
   }
 
+  @Test
+  public void execute_logs_heap_allocated_by_each_ComputationStep_called_when_level_is_DEBUG() {
+    List<String> infoLogs = execute_logs_end_timing_for_each_ComputationStep_called_when_(LoggerLevel.DEBUG);
+    assertThat(infoLogs).hasSize(2);
+    assertThat(infoLogs.get(0)).containsPattern("step1 \\| time=\\d+ms \\| allocatedHeap=\\d+");
+    assertThat(infoLogs.get(1)).containsPattern("step2 \\| time=\\d+ms \\| allocatedHeap=\\d+");
+  }
+
   @Test
   public void execute_logs_end_timing_for_each_ComputationStep_called_when_level_is_TRACE() {
     List<String> infoLogs = execute_logs_end_timing_for_each_ComputationStep_called_when_(LoggerLevel.TRACE);
@@ -108,16 +118,44 @@ public class ComputationStepExecutorTest {
     try (ChangeLogLevel executor = new ChangeLogLevel(ComputationStepExecutor.class, level);
       ChangeLogLevel step1 = new ChangeLogLevel(computationStep1.getClass(), level);
       ChangeLogLevel step2 = new ChangeLogLevel(computationStep2.getClass(), level)) {
-      new ComputationStepExecutor(mockComputationSteps(computationStep1, computationStep2))
+      new ComputationStepExecutor(mockComputationSteps(computationStep1, computationStep2), statistics)
         .execute();
 
       return logTester.logs(LoggerLevel.DEBUG);
     }
   }
 
+  @Test
+  public void execute_adds_statistics_of_each_ComputationStep_called_whatever_the_level() {
+    new ComputationStepExecutor(mockComputationSteps(computationStep1, computationStep2, computationStep1), statistics)
+      .execute();
+
+    Map<String, ComputationStepStatistics.StepStatistics> all = statistics.getAll();
+    assertThat(all.keySet()).containsExactly("step1", "step2");
+    assertThat(all.get("step1").getExecutionCount()).isEqualTo(2L);
+    assertThat(all.get("step1").getDurationInMs()).isGreaterThanOrEqualTo(0L);
+    assertThat(all.get("step1").getAllocatedBytes()).isGreaterThanOrEqualTo(0L);
+    assertThat(all.get("step2").getExecutionCount()).isEqualTo(1L);
+  }
+
+  @Test
+  public void execute_does_not_add_statistics_of_a_failing_ComputationStep() {
+    doThrow(new RuntimeException("simulating failing execute Step method"))
+      .when(computationStep2)
+      .execute();
+
+    try {
+      new ComputationStepExecutor(mockComputationSteps(computationStep1, computationStep2), statistics)
+        .execute();
+      fail("exception should have been raised");
+    } catch (RuntimeException e) {
+      assertThat(statistics.getAll().keySet()).containsExactly("step1");
+    }
+  }
+
   @Test
   public void execute_calls_listener_finished_method_with_all_step_runs() {
-    new ComputationStepExecutor(mockComputationSteps(computationStep1, computationStep2), listener)
+    new ComputationStepExecutor(mockComputationSteps(computationStep1, computationStep2), statistics, listener)
       .execute();
 
     verify(listener).finished(true);
@@ -132,7 +170,7 @@ public class ComputationStepExecutorTest {
       .execute();
 
     try {
-      new ComputationStepExecutor(mockComputationSteps(computationStep1, computationStep2), listener)
+      new ComputationStepExecutor(mockComputationSteps(computationStep1, computationStep2), statistics, listener)
         .execute();
       fail("exception toBeThrown should have been raised");
     } catch (RuntimeException e) {
@@ -149,7 +187,7 @@ public class ComputationStepExecutorTest {
         .when(listener)
         .finished(anyBoolean());
 
-    new ComputationStepExecutor(mockComputationSteps(computationStep1), listener).execute();
+    new ComputationStepExecutor(mockComputationSteps(computationStep1), statistics, listener).execute();
   }
 
   private static ComputationSteps mockComputationSteps(ComputationStep... computationSteps) {
@@ -0,0 +1,52 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2018 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.computation.task.step;
+
+import java.util.Map;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ComputationStepStatisticsTest {
+
+  private ComputationStepStatistics underTest = new ComputationStepStatistics();
+
+  @Test
+  public void getAll_is_empty_if_no_statistics_were_added() {
+    assertThat(underTest.getAll()).isEmpty();
+  }
+
+  @Test
+  public void add_accumulates_statistics_of_each_step() {
+    underTest.add("step2", 10L, 1_000L);
+    underTest.add("step1", 5L, 0L);
+    underTest.add("step2", 30L, 500L);
+
+    Map<String, ComputationStepStatistics.StepStatistics> all = underTest.getAll();
+
+    assertThat(all.keySet()).containsExactly("step1", "step2");
+    assertThat(all.get("step1").getExecutionCount()).isEqualTo(1L);
+    assertThat(all.get("step1").getDurationInMs()).isEqualTo(5L);
+    assertThat(all.get("step1").getAllocatedBytes()).isZero();
+    assertThat(all.get("step2").getExecutionCount()).isEqualTo(2L);
+    assertThat(all.get("step2").getDurationInMs()).isEqualTo(40L);
+    assertThat(all.get("step2").getAllocatedBytes()).isEqualTo(1_500L);
+  }
+}
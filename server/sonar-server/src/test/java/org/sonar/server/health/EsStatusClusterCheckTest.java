@@ -43,7 +43,7 @@ public class EsStatusClusterCheckTest {
   @Test
   public void check_ignores_NodeHealth_arg_and_returns_RED_with_cause_if_an_exception_occurs_checking_ES_cluster_status() {
     Set<NodeHealth> nodeHealths = ImmutableSet.of(newNodeHealth(NodeHealth.Status.GREEN));
-    when(esClient.prepareClusterStats()).thenThrow(new RuntimeException("Faking an exception occurring while using the EsClient"));
+    when(esClient.prepareHealth()).thenThrow(new RuntimeException("Faking an exception occurring while using the EsClient"));
 
     Health health = new EsStatusClusterCheck(esClient).check(nodeHealths);
 
@@ -54,7 +54,7 @@ public class EsStatusClusterCheckTest {
   @Test
   public void check_ignores_NodeHealth_arg_and_returns_GREEN_without_cause_if_ES_cluster_status_is_GREEN() {
     Set<NodeHealth> nodeHealths = ImmutableSet.of(newNodeHealth(NodeHealth.Status.YELLOW));
-    when(esClient.prepareClusterStats().get().getStatus()).thenReturn(ClusterHealthStatus.GREEN);
+    when(esClient.prepareHealth().get().getStatus()).thenReturn(ClusterHealthStatus.GREEN);
 
     Health health = underTest.check(nodeHealths);
 
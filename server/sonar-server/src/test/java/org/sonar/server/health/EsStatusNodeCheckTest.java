@@ -36,7 +36,7 @@ public class EsStatusNodeCheckTest {
   @Test
   public void check_ignores_NodeHealth_arg_and_returns_RED_with_cause_if_an_exception_occurs_checking_ES_cluster_status() {
     EsClient esClient = mock(EsClient.class);
-    when(esClient.prepareClusterStats()).thenThrow(new RuntimeException("Faking an exception occurring while using the EsClient"));
+    when(esClient.prepareHealth()).thenThrow(new RuntimeException("Faking an exception occurring while using the EsClient"));
 
     Health health = new EsStatusNodeCheck(esClient).check();
 
@@ -46,7 +46,7 @@ public class EsStatusNodeCheckTest {
 
   @Test
   public void check_returns_GREEN_without_cause_if_ES_cluster_status_is_GREEN() {
-    when(esClient.prepareClusterStats().get().getStatus()).thenReturn(ClusterHealthStatus.GREEN);
+    when(esClient.prepareHealth().get().getStatus()).thenReturn(ClusterHealthStatus.GREEN);
 
     Health health = underTest.check();
 
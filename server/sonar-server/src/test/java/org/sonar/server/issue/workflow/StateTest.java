@@ -22,6 +22,9 @@ package org.sonar.server.issue.workflow;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.sonar.core.issue.DefaultIssue;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 public class StateTest {
 
@@ -54,6 +57,32 @@ public class StateTest {
     new State("CLOSE", new Transition[] {t1, t1});
   }
 
+  @Test
+  public void out_automatic_transition_is_the_last_declared_one_supporting_the_issue() {
+    Transition first = Transition.builder("first").from("OPEN").to("CLOSED").automatic().build();
+    Transition second = Transition.builder("second").from("OPEN").to("CLOSED").automatic().build();
+    Transition unsupported = Transition.builder("unsupported").from("OPEN").to("CLOSED").automatic().conditions(issue -> false).build();
+    State state = new State("OPEN", new Transition[] {t1, first, second, unsupported});
+
+    assertThat(state.outAutomaticTransition(new DefaultIssue())).isSameAs(second);
+  }
+
+  @Test
+  public void out_automatic_transition_is_null_if_no_automatic_transition_supports_the_issue() {
+    Transition unsupported = Transition.builder("unsupported").from("OPEN").to("CLOSED").automatic().conditions(issue -> false).build();
+    State state = new State("OPEN", new Transition[] {t1, unsupported});
+
+    assertThat(state.outAutomaticTransition(new DefaultIssue())).isNull();
+  }
+
+  @Test
+  public void out_manual_transitions_exclude_automatic_transitions() {
+    Transition automatic = Transition.builder("automatic").from("OPEN").to("CLOSED").automatic().build();
+    State state = new State("OPEN", new Transition[] {t1, automatic});
+
+    assertThat(state.outManualTransitions(new DefaultIssue())).containsExactly(t1);
+  }
+
   @Test
   public void fail_when_transition_is_unknown() {
     State state = new State("VALIDATED", new Transition[0]);
@@ -20,6 +20,7 @@
 package org.sonar.server.issue.ws;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -30,6 +31,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.mockito.ArgumentCaptor;
+import org.sonar.api.notifications.Notification;
 import org.sonar.api.rules.RuleType;
 import org.sonar.api.server.ws.WebService;
 import org.sonar.api.utils.System2;
@@ -54,7 +56,6 @@ import org.sonar.server.issue.TestIssueChangePostProcessor;
 import org.sonar.server.issue.TransitionService;
 import org.sonar.server.issue.index.IssueIndexer;
 import org.sonar.server.issue.index.IssueIteratorFactory;
-import org.sonar.server.issue.notification.IssueChangeNotification;
 import org.sonar.server.issue.workflow.FunctionExecutor;
 import org.sonar.server.issue.workflow.IssueWorkflow;
 import org.sonar.server.notification.NotificationManager;
@@ -73,7 +74,9 @@ import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.sonar.api.issue.Issue.RESOLUTION_FIXED;
@@ -275,15 +278,29 @@ public class BulkChangeActionTest {
 
     checkResponse(response, 1, 1, 0, 0);
 
-    ArgumentCaptor<IssueChangeNotification> issueChangeNotificationCaptor = ArgumentCaptor.forClass(IssueChangeNotification.class);
-    verify(notificationManager).scheduleForSending(issueChangeNotificationCaptor.capture());
-    assertThat(issueChangeNotificationCaptor.getValue().getFieldValue("key")).isEqualTo(issueDto.getKey());
-    assertThat(issueChangeNotificationCaptor.getValue().getFieldValue("componentName")).isEqualTo(file.longName());
-    assertThat(issueChangeNotificationCaptor.getValue().getFieldValue("projectName")).isEqualTo(project.name());
-    assertThat(issueChangeNotificationCaptor.getValue().getFieldValue("projectKey")).isEqualTo(project.getDbKey());
-    assertThat(issueChangeNotificationCaptor.getValue().getFieldValue("ruleName")).isEqualTo(rule.getName());
-    assertThat(issueChangeNotificationCaptor.getValue().getFieldValue("changeAuthor")).isEqualTo(user.getLogin());
-    assertThat(issueChangeNotificationCaptor.getValue().getFieldValue("branch")).isNull();
+    Notification notification = verifyNotificationsSent().get(0);
+    assertThat(notification.getFieldValue("key")).isEqualTo(issueDto.getKey());
+    assertThat(notification.getFieldValue("componentName")).isEqualTo(file.longName());
+    assertThat(notification.getFieldValue("projectName")).isEqualTo(project.name());
+    assertThat(notification.getFieldValue("projectKey")).isEqualTo(project.getDbKey());
+    assertThat(notification.getFieldValue("ruleName")).isEqualTo(rule.getName());
+    assertThat(notification.getFieldValue("changeAuthor")).isEqualTo(user.getLogin());
+    assertThat(notification.getFieldValue("branch")).isNull();
+  }
+
+  @Test
+  public void do_not_send_notification_when_not_requested() {
+    setUserProjectPermissions(USER);
+    IssueDto issueDto = db.issues().insertIssue(newUnresolvedIssue().setType(BUG));
+
+    BulkChangeWsResponse response = call(builder()
+      .setIssues(singletonList(issueDto.getKey()))
+      .setDoTransition("confirm")
+      .setSendNotifications(false)
+      .build());
+
+    checkResponse(response, 1, 1, 0, 0);
+    verify(notificationManager, never()).scheduleForSending(anyCollection());
   }
 
   @Test
@@ -303,15 +320,14 @@ public class BulkChangeActionTest {
 
     checkResponse(response, 1, 1, 0, 0);
 
-    ArgumentCaptor<IssueChangeNotification> issueChangeNotificationCaptor = ArgumentCaptor.forClass(IssueChangeNotification.class);
-    verify(notificationManager).scheduleForSending(issueChangeNotificationCaptor.capture());
-    assertThat(issueChangeNotificationCaptor.getValue().getFieldValue("key")).isEqualTo(issueDto.getKey());
-    assertThat(issueChangeNotificationCaptor.getValue().getFieldValue("componentName")).isEqualTo(fileOnBranch.longName());
-    assertThat(issueChangeNotificationCaptor.getValue().getFieldValue("projectName")).isEqualTo(project.name());
-    assertThat(issueChangeNotificationCaptor.getValue().getFieldValue("projectKey")).isEqualTo(project.getDbKey());
-    assertThat(issueChangeNotificationCaptor.getValue().getFieldValue("ruleName")).isEqualTo(rule.getName());
-    assertThat(issueChangeNotificationCaptor.getValue().getFieldValue("changeAuthor")).isEqualTo(user.getLogin());
-    assertThat(issueChangeNotificationCaptor.getValue().getFieldValue("branch")).isEqualTo(branchName);
+    Notification notification = verifyNotificationsSent().get(0);
+    assertThat(notification.getFieldValue("key")).isEqualTo(issueDto.getKey());
+    assertThat(notification.getFieldValue("componentName")).isEqualTo(fileOnBranch.longName());
+    assertThat(notification.getFieldValue("projectName")).isEqualTo(project.name());
+    assertThat(notification.getFieldValue("projectKey")).isEqualTo(project.getDbKey());
+    assertThat(notification.getFieldValue("ruleName")).isEqualTo(rule.getName());
+    assertThat(notification.getFieldValue("changeAuthor")).isEqualTo(user.getLogin());
+    assertThat(notification.getFieldValue("branch")).isEqualTo(branchName);
 
     verifyPostProcessorCalled(fileOnBranch);
   }
@@ -322,7 +338,6 @@ public class BulkChangeActionTest {
     IssueDto issue1 = db.issues().insertIssue(newUnresolvedIssue().setType(BUG));
     IssueDto issue2 = db.issues().insertIssue(newUnresolvedIssue().setType(BUG));
     IssueDto issue3 = db.issues().insertIssue(newUnresolvedIssue().setType(VULNERABILITY));
-    ArgumentCaptor<IssueChangeNotification> issueChangeNotificationCaptor = ArgumentCaptor.forClass(IssueChangeNotification.class);
 
     BulkChangeWsResponse response = call(builder()
       .setIssues(asList(issue1.getKey(), issue2.getKey(), issue3.getKey()))
@@ -331,9 +346,9 @@ public class BulkChangeActionTest {
       .build());
 
     checkResponse(response, 3, 1, 2, 0);
-    verify(notificationManager).scheduleForSending(issueChangeNotificationCaptor.capture());
-    assertThat(issueChangeNotificationCaptor.getAllValues()).hasSize(1);
-    assertThat(issueChangeNotificationCaptor.getValue().getFieldValue("key")).isEqualTo(issue3.getKey());
+    List<Notification> notifications = verifyNotificationsSent();
+    assertThat(notifications).hasSize(1);
+    assertThat(notifications.get(0).getFieldValue("key")).isEqualTo(issue3.getKey());
 
     verifyPostProcessorCalled(file);
   }
@@ -609,6 +624,12 @@ public class BulkChangeActionTest {
     return db.getDbClient().issueDao().selectByKeys(db.getSession(), asList(issueKeys));
   }
 
+  private List<Notification> verifyNotificationsSent() {
+    ArgumentCaptor<Collection<Notification>> notificationsCaptor = ArgumentCaptor.forClass((Class) Collection.class);
+    verify(notificationManager).scheduleForSending(notificationsCaptor.capture());
+    return new ArrayList<>(notificationsCaptor.getValue());
+  }
+
   private void verifyPostProcessorCalled(ComponentDto... components) {
     assertThat(issueChangePostProcessor.calledComponents()).containsExactlyInAnyOrder(components);
   }
@@ -19,8 +19,10 @@
  */
 package org.sonar.server.measure.index;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.search.SearchHit;
 import org.junit.Rule;
@@ -43,6 +45,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.elasticsearch.index.query.QueryBuilders.boolQuery;
 import static org.elasticsearch.index.query.QueryBuilders.termQuery;
 import static org.sonar.db.component.ComponentTesting.newPrivateProjectDto;
+import static org.sonar.server.es.ProjectIndexer.Cause.MEASURE_CHANGE;
 import static org.sonar.server.es.ProjectIndexer.Cause.PROJECT_CREATION;
 import static org.sonar.server.es.ProjectIndexer.Cause.PROJECT_DELETION;
 import static org.sonar.server.es.ProjectIndexer.Cause.PROJECT_KEY_UPDATE;
@@ -173,6 +176,23 @@ public class ProjectMeasuresIndexerTest {
     assertThat(es.countDocuments(INDEX_TYPE_PROJECT_MEASURES)).isEqualTo(0);
   }
 
+  @Test
+  public void project_queued_several_times_is_indexed_once() {
+    ComponentDto project = db.components().insertPrivateProject();
+    DbSession dbSession = db.getSession();
+    List<EsQueueDto> items = new ArrayList<>();
+    items.addAll(underTest.prepareForRecovery(dbSession, singletonList(project.uuid()), MEASURE_CHANGE));
+    items.addAll(underTest.prepareForRecovery(dbSession, singletonList(project.uuid()), PROJECT_TAGS_UPDATE));
+    dbSession.commit();
+
+    IndexingResult result = underTest.index(dbSession, items);
+
+    assertThat(result.getTotal()).isEqualTo(1L);
+    assertThat(result.getSuccess()).isEqualTo(1L);
+    assertThatIndexContainsOnly(project);
+    assertThatEsQueueTableHasSize(0);
+  }
+
   @Test
   public void errors_during_indexing_are_recovered() {
     ComponentDto project = db.components().insertPrivateProject();
@@ -377,6 +377,46 @@ public class ComponentTreeActionTest {
     assertThat(response.getPaging().getTotal()).isEqualTo(9);
   }
 
+  @Test
+  public void load_measures_of_paginated_components_sorted_by_name() {
+    ComponentDto project = db.components().insertPrivateProject();
+    db.components().insertSnapshot(project);
+    userSession.anonymous().addProjectPermission(UserRole.USER, project);
+    ComponentDto file1 = componentDb.insertComponent(newFileDto(project, null, "file-uuid-1").setName("file-1"));
+    ComponentDto file2 = componentDb.insertComponent(newFileDto(project, null, "file-uuid-2").setName("file-2"));
+    ComponentDto file3 = componentDb.insertComponent(newFileDto(project, null, "file-uuid-3").setName("file-3"));
+    MetricDto coverage = insertCoverageMetric();
+    db.commit();
+    db.measures().insertLiveMeasure(project, coverage, m -> m.setValue(50.0d));
+    db.measures().insertLiveMeasure(file1, coverage, m -> m.setValue(1.0d));
+    db.measures().insertLiveMeasure(file2, coverage, m -> m.setValue(2.0d));
+    db.measures().insertLiveMeasure(file3, coverage, m -> m.setValue(3.0d));
+
+    ComponentTreeWsResponse response = ws.newRequest()
+      .setParam(PARAM_COMPONENT, project.getKey())
+      .setParam(SORT, NAME_SORT)
+      .setParam(PARAM_METRIC_KEYS, "coverage")
+      .setParam(Param.PAGE, "2")
+      .setParam(Param.PAGE_SIZE, "1")
+      .executeProtobuf(ComponentTreeWsResponse.class);
+
+    assertThat(response.getBaseComponent().getMeasuresList()).extracting("value").containsExactly("50.0");
+    assertThat(response.getComponentsList()).extracting("id").containsExactly("file-uuid-2");
+    assertThat(response.getComponents(0).getMeasuresList()).extracting("value").containsExactly("2.0");
+    assertThat(response.getPaging().getTotal()).isEqualTo(3);
+
+    response = ws.newRequest()
+      .setParam(PARAM_COMPONENT, project.getKey())
+      .setParam(SORT, NAME_SORT)
+      .setParam(PARAM_METRIC_KEYS, "coverage")
+      .setParam(PARAM_QUALIFIERS, "FIL")
+      .executeProtobuf(ComponentTreeWsResponse.class);
+
+    // as when sorting by metric, base component measures are not returned when base component is filtered out
+    assertThat(response.getBaseComponent().getMeasuresList()).isEmpty();
+    assertThat(response.getComponentsList()).extracting("id").containsExactly("file-uuid-1", "file-uuid-2", "file-uuid-3");
+  }
+
   @Test
   public void sort_by_metric_value() {
     ComponentDto project = db.components().insertPrivateProject();
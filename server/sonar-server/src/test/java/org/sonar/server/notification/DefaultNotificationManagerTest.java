@@ -23,6 +23,7 @@ import com.google.common.collect.Multimap;
 import java.io.InvalidClassException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import org.apache.commons.lang.RandomStringUtils;
@@ -47,14 +48,17 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.only;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
+import static org.sonar.server.notification.NotificationManager.SubscriberPermissionsOnProject.ALL_MUST_HAVE_ROLE_USER;
 
 public class DefaultNotificationManagerTest {
 
@@ -98,6 +102,20 @@ public class DefaultNotificationManagerTest {
     verify(notificationQueueDao, only()).insert(any(List.class));
   }
 
+  @Test
+  public void persist_notifications_at_once() {
+    underTest.scheduleForSending(Arrays.asList(new Notification("test1"), new Notification("test2")));
+
+    verify(notificationQueueDao, only()).insert(argThat(dtos -> dtos.size() == 2));
+  }
+
+  @Test
+  public void do_not_persist_empty_notifications() {
+    underTest.scheduleForSending(Collections.emptyList());
+
+    verifyZeroInteractions(notificationQueueDao);
+  }
+
   @Test
   public void shouldGetFromQueueAndDelete() {
     Notification notification = new Notification("test");
@@ -112,6 +130,31 @@ public class DefaultNotificationManagerTest {
     inOrder.verify(notificationQueueDao).delete(dtos);
   }
 
+  @Test
+  public void getFromQueue_returns_batch_of_notifications_and_deletes_them() throws Exception {
+    NotificationQueueDto dto1 = NotificationQueueDto.toNotificationQueueDto(new Notification("test1"));
+    NotificationQueueDto dto2 = mock(NotificationQueueDto.class);
+    when(dto2.toNotification()).thenThrow(new InvalidClassException("Pouet"));
+    NotificationQueueDto dto3 = NotificationQueueDto.toNotificationQueueDto(new Notification("test3"));
+    List<NotificationQueueDto> dtos = Arrays.asList(dto1, dto2, dto3);
+    when(notificationQueueDao.selectOldest(10)).thenReturn(dtos);
+
+    List<Notification> notifications = underTest.getFromQueue(10);
+
+    assertThat(notifications).extracting(Notification::getType).containsExactly("test1", "test3");
+    InOrder inOrder = inOrder(notificationQueueDao);
+    inOrder.verify(notificationQueueDao).selectOldest(10);
+    inOrder.verify(notificationQueueDao).delete(dtos);
+  }
+
+  @Test
+  public void getFromQueue_returns_empty_if_queue_is_empty() {
+    when(notificationQueueDao.selectOldest(10)).thenReturn(Collections.emptyList());
+
+    assertThat(underTest.getFromQueue(10)).isEmpty();
+    verify(notificationQueueDao, times(0)).delete(any(List.class));
+  }
+
   // SONAR-4739
   @Test
   public void shouldNotFailWhenUnableToDeserialize() throws Exception {
@@ -162,6 +205,37 @@ public class DefaultNotificationManagerTest {
     verify(authorizationDao, times(1)).keepAuthorizedLoginsOnProject(eq(dbSession), anySet(), anyString(), anyString());
   }
 
+  @Test
+  public void find_recipients_once_per_dispatcher_and_project_while_recipients_are_grouped() {
+    when(propertiesDao.findUsersForNotification("NewViolations", "Email", "uuid_45"))
+      .thenReturn(newHashSet(new Subscriber("user1", false)));
+    when(authorizationDao.keepAuthorizedLoginsOnProject(dbSession, newHashSet("user1"), "uuid_45", "user"))
+      .thenReturn(newHashSet("user1"));
+
+    underTest.startGroupingRecipients();
+    Multimap<String, NotificationChannel> first = underTest.findSubscribedRecipientsForDispatcher(dispatcher, "uuid_45", ALL_MUST_HAVE_ROLE_USER);
+    Multimap<String, NotificationChannel> second = underTest.findSubscribedRecipientsForDispatcher(dispatcher, "uuid_45", ALL_MUST_HAVE_ROLE_USER);
+    underTest.findSubscribedRecipientsForDispatcher(dispatcher, "uuid_56", ALL_MUST_HAVE_ROLE_USER);
+    underTest.stopGroupingRecipients();
+
+    assertThat(first.keySet()).containsOnly("user1");
+    assertThat(second).isSameAs(first);
+    verify(propertiesDao, times(1)).findUsersForNotification("NewViolations", "Email", "uuid_45");
+    verify(propertiesDao, times(1)).findUsersForNotification("NewViolations", "Email", "uuid_56");
+  }
+
+  @Test
+  public void find_recipients_at_each_call_when_recipients_are_not_grouped() {
+    underTest.startGroupingRecipients();
+    underTest.findSubscribedRecipientsForDispatcher(dispatcher, "uuid_45", ALL_MUST_HAVE_ROLE_USER);
+    underTest.stopGroupingRecipients();
+
+    underTest.findSubscribedRecipientsForDispatcher(dispatcher, "uuid_45", ALL_MUST_HAVE_ROLE_USER);
+    underTest.findSubscribedRecipientsForDispatcher(dispatcher, "uuid_45", ALL_MUST_HAVE_ROLE_USER);
+
+    verify(propertiesDao, times(3)).findUsersForNotification("NewViolations", "Email", "uuid_45");
+  }
+
   @Test
   public void should_apply_distinct_permission_filtering_global_or_project_subscribers() {
     String globalPermission = RandomStringUtils.randomAlphanumeric(4);
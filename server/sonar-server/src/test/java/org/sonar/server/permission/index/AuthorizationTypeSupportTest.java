@@ -132,13 +132,8 @@ public class AuthorizationTypeSupportTest {
       "                }" +
       "              }," +
       "              {" +
-      "                \"term\": {" +
-      "                  \"groupIds\": {\"value\": 10}" +
-      "                }" +
-      "              }," +
-      "              {" +
-      "                \"term\": {" +
-      "                  \"groupIds\": {\"value\": 11}" +
+      "                \"terms\": {" +
+      "                  \"groupIds\": [10, 11]" +
       "                }" +
       "              }" +
       "            ]" +
@@ -0,0 +1,110 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2018 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.platform;
+
+import org.junit.Test;
+import org.picocontainer.Startable;
+import org.sonar.core.platform.ComponentContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ComponentStartupTimesTest {
+
+  private ComponentStartupTimes underTest = new ComponentStartupTimes();
+
+  @Test
+  public void record_start_of_components_of_container_and_its_children() {
+    ComponentContainer root = new ComponentContainer(underTest);
+    root.add(FastComponent.class);
+    ComponentContainer child = root.createChild();
+    child.add(SlowComponent.class);
+
+    root.startComponents();
+    child.startComponents();
+
+    assertThat(underTest.getSlowest(10))
+      .extracting(e -> e.getKey())
+      .containsExactly(SlowComponent.class.getName(), FastComponent.class.getName());
+    assertThat(underTest.getSlowest(10).get(0).getValue()).isGreaterThanOrEqualTo(10L);
+  }
+
+  @Test
+  public void do_not_record_stop_of_components() {
+    ComponentContainer root = new ComponentContainer(underTest);
+    root.add(FastComponent.class);
+
+    root.execute();
+
+    assertThat(underTest.getSlowest(10)).hasSize(1);
+  }
+
+  @Test
+  public void getSlowest_is_limited() {
+    ComponentContainer root = new ComponentContainer(underTest);
+    root.add(FastComponent.class, SlowComponent.class);
+    root.startComponents();
+
+    assertThat(underTest.getSlowest(1))
+      .extracting(e -> e.getKey())
+      .containsExactly(SlowComponent.class.getName());
+  }
+
+  @Test
+  public void getSlowest_is_empty_if_nothing_started() {
+    assertThat(underTest.getSlowest(10)).isEmpty();
+  }
+
+  @Test
+  public void log_does_not_fail() throws Exception {
+    underTest.invoked(null, null, FastComponent.class.getMethod("start"), new FastComponent(), 3L, new Object[0], null);
+
+    underTest.log(10);
+
+    assertThat(underTest.getSlowest(10)).isNotEmpty();
+  }
+
+  public static class FastComponent implements Startable {
+    @Override
+    public void start() {
+      // nothing to do
+    }
+
+    @Override
+    public void stop() {
+      // nothing to do
+    }
+  }
+
+  public static class SlowComponent implements Startable {
+    @Override
+    public void start() {
+      try {
+        Thread.sleep(20L);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    @Override
+    public void stop() {
+      // nothing to do
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2018 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.platform.monitoring;
+
+import org.junit.Test;
+import org.sonar.process.systeminfo.protobuf.ProtobufSystemInfo;
+import org.sonar.server.source.SourceDataCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.sonar.server.platform.monitoring.SystemInfoTesting.assertThatAttributeIs;
+
+public class SourceDataCacheSectionTest {
+
+  private SourceDataCache sourceDataCache = mock(SourceDataCache.class);
+  private SourceDataCacheSection underTest = new SourceDataCacheSection(sourceDataCache);
+
+  @Test
+  public void name() {
+    assertThat(underTest.toProtobuf().getName()).isEqualTo("Web Source Cache");
+  }
+
+  @Test
+  public void cache_statistics() {
+    when(sourceDataCache.getSize()).thenReturn(12L);
+    when(sourceDataCache.getHitCount()).thenReturn(30L);
+    when(sourceDataCache.getMissCount()).thenReturn(10L);
+    when(sourceDataCache.getEvictionCount()).thenReturn(2L);
+
+    ProtobufSystemInfo.Section section = underTest.toProtobuf();
+
+    assertThatAttributeIs(section, "Cached Files", 12L);
+    assertThatAttributeIs(section, "Requests", 40L);
+    assertThatAttributeIs(section, "Hits", 30L);
+    assertThatAttributeIs(section, "Hit Ratio (%)", 75L);
+    assertThatAttributeIs(section, "Evictions", 2L);
+  }
+
+  @Test
+  public void hit_ratio_is_zero_if_no_requests() {
+    ProtobufSystemInfo.Section section = underTest.toProtobuf();
+
+    assertThatAttributeIs(section, "Requests", 0L);
+    assertThatAttributeIs(section, "Hit Ratio (%)", 0L);
+  }
+}
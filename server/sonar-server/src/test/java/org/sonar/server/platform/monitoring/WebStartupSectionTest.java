@@ -0,0 +1,60 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2018 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.platform.monitoring;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.Test;
+import org.sonar.process.systeminfo.protobuf.ProtobufSystemInfo;
+import org.sonar.server.platform.ComponentStartupTimes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.sonar.server.platform.monitoring.SystemInfoTesting.assertThatAttributeIs;
+
+public class WebStartupSectionTest {
+
+  private ComponentStartupTimes startupTimes = mock(ComponentStartupTimes.class);
+  private WebStartupSection underTest = new WebStartupSection(startupTimes);
+
+  @Test
+  public void name() {
+    assertThat(underTest.toProtobuf().getName()).isEqualTo("Web Startup");
+  }
+
+  @Test
+  public void durations_of_slowest_components() {
+    when(startupTimes.getSlowest(WebStartupSection.MAX_COMPONENTS)).thenReturn(Arrays.asList(
+      entry("org.sonar.server.rule.RegisterRules", 1_500L),
+      entry("org.sonar.server.startup.RegisterMetrics", 40L)));
+
+    ProtobufSystemInfo.Section section = underTest.toProtobuf();
+
+    assertThat(section.getAttributesCount()).isEqualTo(2);
+    assertThatAttributeIs(section, "org.sonar.server.rule.RegisterRules", 1_500L);
+    assertThatAttributeIs(section, "org.sonar.server.startup.RegisterMetrics", 40L);
+  }
+
+  private static Map.Entry<String, Long> entry(String key, long value) {
+    return new AbstractMap.SimpleImmutableEntry<>(key, value);
+  }
+}
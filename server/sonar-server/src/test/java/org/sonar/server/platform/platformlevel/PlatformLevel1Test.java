@@ -23,6 +23,7 @@ import java.util.Properties;
 import org.junit.Test;
 import org.sonar.api.config.PropertyDefinition;
 import org.sonar.api.utils.System2;
+import org.sonar.server.platform.ComponentStartupTimes;
 import org.sonar.server.platform.Platform;
 import org.sonar.server.platform.WebServer;
 
@@ -41,5 +42,6 @@ public class PlatformLevel1Test {
     assertThat(underTest.getAll(PropertyDefinition.class)).isNotEmpty();
     assertThat(underTest.getOptional(WebServer.class)).isPresent();
     assertThat(underTest.getOptional(System2.class)).isPresent();
+    assertThat(underTest.getOptional(ComponentStartupTimes.class)).isPresent();
   }
 }
@@ -30,10 +30,13 @@ import org.sonar.api.rule.RuleStatus;
 import org.sonar.api.rule.Severity;
 import org.sonar.api.utils.System2;
 import org.sonar.api.utils.internal.AlwaysIncreasingSystem2;
+import org.sonar.db.DbClient;
+import org.sonar.db.DbSession;
 import org.sonar.db.DbTester;
 import org.sonar.db.qualityprofile.ActiveRuleParamDto;
 import org.sonar.db.qualityprofile.OrgActiveRuleDto;
 import org.sonar.db.qualityprofile.QProfileDto;
+import org.sonar.db.qualityprofile.QualityProfileDao;
 import org.sonar.db.rule.RuleDefinitionDto;
 import org.sonar.server.es.EsTester;
 import org.sonar.server.exceptions.BadRequestException;
@@ -47,6 +50,12 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.sonar.api.rule.Severity.BLOCKER;
 import static org.sonar.server.qualityprofile.ActiveRuleInheritance.INHERITED;
 
@@ -193,6 +202,29 @@ public class QProfileTreeImplTest {
     assertThatRuleIsActivated(childProfile, rule2, changes, rule2.getSeverityString(), INHERITED, emptyMap());
   }
 
+  @Test
+  public void dates_of_profile_are_updated_once_when_many_rules_are_inherited() {
+    RuleDefinitionDto rule1 = createJavaRule();
+    RuleDefinitionDto rule2 = createJavaRule();
+    RuleDefinitionDto rule3 = createJavaRule();
+    QProfileDto parentProfile = createProfile(rule1);
+    activate(parentProfile, RuleActivation.create(rule1.getId()));
+    activate(parentProfile, RuleActivation.create(rule2.getId()));
+    activate(parentProfile, RuleActivation.create(rule3.getId()));
+    QProfileDto childProfile = createProfile(rule1);
+
+    DbClient dbClient = spy(db.getDbClient());
+    QualityProfileDao qualityProfileDao = spy(db.getDbClient().qualityProfileDao());
+    doReturn(qualityProfileDao).when(dbClient).qualityProfileDao();
+    QProfileTree underTest = new QProfileTreeImpl(dbClient, new RuleActivator(system2, dbClient, typeValidations, userSession), System2.INSTANCE, activeRuleIndexer);
+
+    List<ActiveRuleChange> changes = underTest.setParentAndCommit(db.getSession(), childProfile, parentProfile);
+
+    assertThat(changes).hasSize(3);
+    // the first update sets the parent, the second one sets the dates of rules
+    verify(qualityProfileDao, times(2)).update(any(DbSession.class), argThat((QProfileDto p) -> p.getKee().equals(childProfile.getKee())));
+  }
+
   private List<ActiveRuleChange> activate(QProfileDto profile, RuleActivation activation) {
     return qProfileRules.activateAndCommit(db.getSession(), profile, singleton(activation));
   }
@@ -71,4 +71,19 @@ public class DecorationDataHolderTest {
     assertThat(offsets.get(7)).isEqualTo(130);
     assertThat(offsets.get(8)).isEqualTo(145);
   }
+
+  @Test
+  public void tags_at_same_offset_keep_loading_order() {
+    DecorationDataHolder underTest = new DecorationDataHolder();
+    underTest.loadSyntaxHighlightingData("10,20,k;0,5,c;10,15,s;");
+    underTest.loadLineSymbolReferences("10,12,3;0,2,1");
+
+    assertThat(underTest.getOpeningTagsEntries()).containsExactly(
+      new OpeningHtmlTag(0, "c"),
+      new OpeningHtmlTag(0, "sym-1 sym"),
+      new OpeningHtmlTag(10, "k"),
+      new OpeningHtmlTag(10, "s"),
+      new OpeningHtmlTag(10, "sym-3 sym"));
+    assertThat(underTest.getClosingTagsOffsets()).containsExactly(2, 5, 12, 15, 20);
+  }
 }
@@ -0,0 +1,119 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2018 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.source;
+
+import java.util.Optional;
+import javax.annotation.Nullable;
+import org.junit.Rule;
+import org.junit.Test;
+import org.sonar.api.utils.System2;
+import org.sonar.db.DbSession;
+import org.sonar.db.DbTester;
+import org.sonar.db.protobuf.DbFileSources;
+import org.sonar.db.source.FileSourceDto;
+import org.sonar.server.source.index.FileSourceTesting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SourceDataCacheTest {
+
+  private static final String FILE_UUID = "FILE_UUID";
+
+  @Rule
+  public DbTester db = DbTester.create(System2.INSTANCE);
+
+  private DbSession dbSession = db.getSession();
+  private SourceDataCache underTest = new SourceDataCache(db.getDbClient());
+
+  @Test
+  public void return_empty_if_file_has_no_source() {
+    assertThat(underTest.get(dbSession, "UNKNOWN")).isEmpty();
+    assertThat(underTest.getMissCount()).isEqualTo(1);
+    assertThat(underTest.getSize()).isZero();
+  }
+
+  @Test
+  public void load_source_once_as_long_as_it_is_not_updated() {
+    insertSource(FileSourceTesting.newFakeData(3).build(), "hash1");
+
+    Optional<DbFileSources.Data> first = underTest.get(dbSession, FILE_UUID);
+    Optional<DbFileSources.Data> second = underTest.get(dbSession, FILE_UUID);
+
+    assertThat(first.get().getLinesCount()).isEqualTo(3);
+    assertThat(second.get()).isSameAs(first.get());
+    assertThat(underTest.getMissCount()).isEqualTo(1);
+    assertThat(underTest.getHitCount()).isEqualTo(1);
+    assertThat(underTest.getSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void reload_source_if_data_hash_changed() {
+    FileSourceDto dto = insertSource(FileSourceTesting.newFakeData(3).build(), "hash1");
+    underTest.get(dbSession, FILE_UUID);
+
+    dto.setSourceData(FileSourceTesting.newFakeData(5).build()).setDataHash("hash2");
+    db.getDbClient().fileSourceDao().update(dbSession, dto);
+    db.commit();
+
+    assertThat(underTest.get(dbSession, FILE_UUID).get().getLinesCount()).isEqualTo(5);
+    assertThat(underTest.getMissCount()).isEqualTo(2);
+    assertThat(underTest.getHitCount()).isZero();
+  }
+
+  @Test
+  public void do_not_cache_source_without_data_hash() {
+    insertSource(FileSourceTesting.newFakeData(3).build(), null);
+
+    assertThat(underTest.get(dbSession, FILE_UUID).get().getLinesCount()).isEqualTo(3);
+    assertThat(underTest.get(dbSession, FILE_UUID).get().getLinesCount()).isEqualTo(3);
+    assertThat(underTest.getMissCount()).isEqualTo(2);
+    assertThat(underTest.getSize()).isZero();
+  }
+
+  @Test
+  public void evict_sources_when_max_size_is_reached() {
+    underTest = new SourceDataCache(db.getDbClient(), 1L);
+    insertSource(FileSourceTesting.newFakeData(3).build(), "hash1");
+
+    underTest.get(dbSession, FILE_UUID);
+
+    assertThat(underTest.getSize()).isZero();
+    assertThat(underTest.getEvictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void estimate_of_heap_size_is_greater_than_serialized_size() {
+    DbFileSources.Data data = FileSourceTesting.newFakeData(10).build();
+
+    assertThat(SourceDataCache.estimateHeapSize(data)).isGreaterThan(2 * data.getSerializedSize());
+    assertThat(SourceDataCache.estimateHeapSize(DbFileSources.Data.getDefaultInstance())).isZero();
+  }
+
+  private FileSourceDto insertSource(DbFileSources.Data data, @Nullable String dataHash) {
+    FileSourceDto dto = new FileSourceDto()
+      .setFileUuid(FILE_UUID)
+      .setProjectUuid("PROJECT_UUID")
+      .setDataHash(dataHash)
+      .setSourceData(data);
+    db.getDbClient().fileSourceDao().insert(dbSession, dto);
+    db.commit();
+    return dto;
+  }
+}
@@ -49,7 +49,7 @@ public class SourceServiceTest {
 
   HtmlSourceDecorator htmlDecorator = mock(HtmlSourceDecorator.class);
 
-  SourceService underTest = new SourceService(dbTester.getDbClient(), htmlDecorator);
+  SourceService underTest = new SourceService(new SourceDataCache(dbTester.getDbClient()), htmlDecorator);
 
   @Before
   public void injectFakeLines() throws IOException {
@@ -31,6 +31,7 @@ import org.sonar.db.component.ResourceTypesRule;
 import org.sonar.server.component.ComponentFinder;
 import org.sonar.server.exceptions.ForbiddenException;
 import org.sonar.server.exceptions.NotFoundException;
+import org.sonar.server.source.SourceDataCache;
 import org.sonar.server.source.SourceService;
 import org.sonar.server.tester.UserSessionRule;
 import org.sonar.server.ws.WsActionTester;
@@ -53,7 +54,7 @@ public class RawActionTest {
   private ResourceTypesRule resourceTypes = new ResourceTypesRule().setRootQualifiers(Qualifiers.PROJECT);
 
   private WsActionTester ws = new WsActionTester(new RawAction(db.getDbClient(),
-    new SourceService(db.getDbClient(), null), userSession,
+    new SourceService(new SourceDataCache(db.getDbClient()), null), userSession,
     new ComponentFinder(db.getDbClient(), resourceTypes)));
 
   @Test
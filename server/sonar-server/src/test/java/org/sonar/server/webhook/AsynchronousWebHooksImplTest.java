@@ -31,7 +31,6 @@ import org.sonar.db.component.ComponentDto;
 import org.sonar.db.organization.OrganizationDbTester;
 import org.sonar.db.organization.OrganizationDto;
 import org.sonar.db.webhook.WebhookDbTester;
-import org.sonar.server.async.AsyncExecution;
 import org.sonar.server.organization.DefaultOrganizationProvider;
 
 import static java.util.Objects.requireNonNull;
@@ -89,7 +88,7 @@ public class AsynchronousWebHooksImplTest {
     verify(deliveryStorage).purge(project.uuid());
   }
 
-  private static class RecordingAsyncExecution implements AsyncExecution {
+  private static class RecordingAsyncExecution implements WebhookExecution {
     private final List<Runnable> runnableList = new ArrayList<>();
 
     @Override
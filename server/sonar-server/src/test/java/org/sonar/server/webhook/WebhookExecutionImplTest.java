@@ -0,0 +1,125 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2018 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.webhook;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.sonar.api.utils.log.LogTester;
+import org.sonar.api.utils.log.LoggerLevel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WebhookExecutionImplTest {
+  private static final int MAX_THREAD_COUNT = 5;
+
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
+  @Rule
+  public LogTester logTester = new LogTester();
+
+  private WebhookExecutionImpl underTest = new WebhookExecutionImpl();
+
+  @After
+  public void tearDown() {
+    underTest.stop();
+  }
+
+  @Test
+  public void addToQueue_fails_with_NPE_if_Runnable_is_null() {
+    expectedException.expect(NullPointerException.class);
+
+    underTest.addToQueue(null);
+  }
+
+  @Test
+  public void addToQueue_executes_Runnable_in_another_thread() {
+    try (SlowRunnable slowRunnable = new SlowRunnable(new CountDownLatch(1))) {
+      underTest.addToQueue(slowRunnable);
+      assertThat(slowRunnable.executed).isFalse();
+    }
+  }
+
+  @Test
+  public void addToQueue_drops_Runnable_and_logs_a_warning_when_queue_is_full() {
+    CountDownLatch latch = new CountDownLatch(1);
+    try {
+      for (int i = 0; i < MAX_THREAD_COUNT + WebhookExecutionImpl.MAX_QUEUE_SIZE; i++) {
+        underTest.addToQueue(new SlowRunnable(latch));
+      }
+      assertThat(logTester.logs(LoggerLevel.WARN)).isEmpty();
+
+      AtomicBoolean executed = new AtomicBoolean(false);
+      underTest.addToQueue(() -> executed.set(true));
+
+      assertThat(logTester.logs(LoggerLevel.WARN))
+        .containsOnly("Webhook task is dropped, " + WebhookExecutionImpl.MAX_QUEUE_SIZE + " webhook tasks are already pending");
+      assertThat(executed.get()).isFalse();
+    } finally {
+      latch.countDown();
+    }
+  }
+
+  @Test
+  public void addToQueue_logs_failure_of_Runnable() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(1);
+
+    underTest.addToQueue(() -> {
+      try {
+        throw new IllegalStateException("Faking a failure of the webhook task");
+      } finally {
+        latch.countDown();
+      }
+    });
+    latch.await(30, TimeUnit.SECONDS);
+    underTest.stop();
+    underTest.awaitTermination(30, TimeUnit.SECONDS);
+
+    assertThat(logTester.logs(LoggerLevel.ERROR)).containsOnly("Webhook task failed");
+  }
+
+  private static final class SlowRunnable implements Runnable, AutoCloseable {
+    private final CountDownLatch latch;
+    private volatile boolean executed = false;
+
+    private SlowRunnable(CountDownLatch latch) {
+      this.latch = latch;
+    }
+
+    @Override
+    public void run() {
+      try {
+        latch.await(30, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        // ignore
+      }
+      executed = true;
+    }
+
+    @Override
+    public void close() {
+      latch.countDown();
+    }
+  }
+}
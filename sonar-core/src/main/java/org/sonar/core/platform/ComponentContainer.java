@@ -87,6 +87,14 @@ public class ComponentContainer implements ContainerPopulator.Container {
     this(createPicoContainer());
   }
 
+  /**
+   * Create root container which notifies the specified monitor of the events of its components and
+   * of the components of its children (instantiation, start, stop...)
+   */
+  public ComponentContainer(ComponentMonitor componentMonitor) {
+    this(createPicoContainer(componentMonitor));
+  }
+
   protected ComponentContainer(MutablePicoContainer picoContainer) {
     this(picoContainer, new PropertyDefinitions());
   }
@@ -310,7 +318,10 @@ public class ComponentContainer implements ContainerPopulator.Container {
   }
 
   public static MutablePicoContainer createPicoContainer() {
-    NullComponentMonitor componentMonitor = new NullComponentMonitor();
+    return createPicoContainer(new NullComponentMonitor());
+  }
+
+  public static MutablePicoContainer createPicoContainer(ComponentMonitor componentMonitor) {
     return new ExtendedDefaultPicoContainer(new OptInCaching(), new StopSafeReflectionLifecycleStrategy(componentMonitor), null, componentMonitor);
   }
 
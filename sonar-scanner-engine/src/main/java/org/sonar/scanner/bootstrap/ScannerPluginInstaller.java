@@ -19,14 +19,20 @@
  */
 package org.sonar.scanner.bootstrap;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import java.io.File;
 import java.io.Reader;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.annotation.Nullable;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
@@ -43,6 +49,7 @@ public class ScannerPluginInstaller implements PluginInstaller {
 
   private static final Logger LOG = Loggers.get(ScannerPluginInstaller.class);
   private static final String PLUGINS_WS_URL = "api/plugins/installed";
+  private static final int MAX_DOWNLOAD_THREADS = 4;
 
   private final PluginFiles pluginFiles;
   private final ScannerPluginPredicate pluginPredicate;
@@ -75,9 +82,29 @@ public class ScannerPluginInstaller implements PluginInstaller {
   }
 
   private Loaded loadPlugins(Map<String, ScannerPlugin> result) {
+    List<InstalledPlugin> plugins = new ArrayList<>();
     for (InstalledPlugin plugin : listInstalledPlugins()) {
       if (pluginPredicate.apply(plugin.key)) {
-        Optional<File> jarFile = pluginFiles.get(plugin);
+        plugins.add(plugin);
+      }
+    }
+    if (plugins.isEmpty()) {
+      return new Loaded(true, null);
+    }
+
+    // plugins are downloaded concurrently, files already present in the user cache are not downloaded again
+    ExecutorService executorService = Executors.newFixedThreadPool(Math.min(plugins.size(), MAX_DOWNLOAD_THREADS), new ThreadFactoryBuilder()
+      .setNameFormat("PluginDownloader-%d")
+      .setDaemon(true)
+      .build());
+    try {
+      List<Future<Optional<File>>> jarFiles = new ArrayList<>();
+      for (InstalledPlugin plugin : plugins) {
+        jarFiles.add(executorService.submit(() -> pluginFiles.get(plugin)));
+      }
+      for (int i = 0; i < plugins.size(); i++) {
+        InstalledPlugin plugin = plugins.get(i);
+        Optional<File> jarFile = waitFor(jarFiles.get(i));
         if (!jarFile.isPresent()) {
           return new Loaded(false, plugin.key);
         }
@@ -85,8 +112,22 @@ public class ScannerPluginInstaller implements PluginInstaller {
         PluginInfo info = PluginInfo.create(jarFile.get());
         result.put(info.getKey(), new ScannerPlugin(plugin.key, plugin.updatedAt, info));
       }
+      return new Loaded(true, null);
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  private static Optional<File> waitFor(Future<Optional<File>> jarFile) {
+    try {
+      return jarFile.get();
+    } catch (ExecutionException e) {
+      // Unwrap ExecutionException
+      throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
     }
-    return new Loaded(true, null);
   }
 
   /**
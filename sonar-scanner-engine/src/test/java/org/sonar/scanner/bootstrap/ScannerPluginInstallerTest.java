@@ -132,6 +132,30 @@ public class ScannerPluginInstallerTest {
     underTest.installRemotes();
   }
 
+  @Test
+  public void fail_if_a_plugin_can_not_be_downloaded() throws IOException {
+    WsTestUtil.mockReader(wsClient, "api/plugins/installed", new InputStreamReader(getClass().getResourceAsStream("ScannerPluginInstallerTest/installed-plugins-ws.json")));
+    enqueueDownload("scmgit", "abc");
+    when(pluginFiles.get(argThat(p -> "java".equals(p.key)))).thenThrow(new IllegalStateException("Fail to download plugin [java]. Request to foo returned code 500."));
+    when(pluginPredicate.apply(any())).thenReturn(true);
+
+    expectedException.expect(IllegalStateException.class);
+    expectedException.expectMessage("Fail to download plugin [java]. Request to foo returned code 500.");
+
+    underTest.installRemotes();
+  }
+
+  @Test
+  public void do_not_download_if_all_plugins_are_filtered() throws IOException {
+    WsTestUtil.mockReader(wsClient, "api/plugins/installed", new InputStreamReader(getClass().getResourceAsStream("ScannerPluginInstallerTest/installed-plugins-ws.json")));
+    when(pluginPredicate.apply(any())).thenReturn(false);
+
+    Map<String, ScannerPlugin> result = underTest.installRemotes();
+
+    assertThat(result).isEmpty();
+    verify(pluginFiles, times(0)).get(any());
+  }
+
   @Test
   public void installLocals_always_returns_empty() {
     // this method is used only by medium tests